@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Load-tests the application twice, once on Tomcat's platform thread pool and once with the
+# virtual-threads profile, and appends both results to benchmarks/results/virtual-threads-<timestamp>.ndjson.
+# Needs JAVA_HOME pointing at a JDK 21+. Tunables: CONCURRENCY, WARMUP, DURATION, PROFILE.
+#   CONCURRENCY=800 DURATION=60 benchmarks/compare-virtual-threads.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-400}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-30}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+
+mvn -B -q -Pvirtual-threads -DskipTests install
+mvn -B -q -Pvirtual-threads -f benchmarks/pom.xml package
+
+app_jar=$(ls target/blog-api-*-SNAPSHOT.jar)
+mkdir -p benchmarks/results
+result_file="benchmarks/results/virtual-threads-$(date +%Y%m%d-%H%M%S).ndjson"
+
+run_mode() {
+    local label=$1 profiles=$2
+    java -jar "$app_jar" --spring.profiles.active="$profiles" --server.port="$PORT" \
+        --spring.jpa.show-sql=false --logging.level.root=WARN --logging.level.com.blogapi=WARN \
+        --logging.level.org.springframework.web=WARN --logging.level.org.hibernate.SQL=WARN \
+        > "benchmarks/results/${label}.log" 2>&1 &
+    local app_pid=$!
+    trap 'kill $app_pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 120); do
+        curl -fs "http://localhost:${PORT}/api/categories" > /dev/null && break
+        sleep 1
+    done
+
+    java -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.HttpLoadDriver \
+        --base-url="http://localhost:${PORT}" --label="$label" --concurrency="$CONCURRENCY" \
+        --warmup="$WARMUP" --duration="$DURATION" --output="$result_file"
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform "$PROFILE"
+run_mode virtual "$PROFILE,virtual-threads"
+
+echo "Results written to $result_file"
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Starts the application on a generated data set (see LoadTestServer) and load-tests one endpoint
+# family per scenario, appending the results to benchmarks/results/loadtest-<timestamp>.ndjson.
+# The data set is generated on the first run and reused while POSTS, COMMENTS and CATEGORIES stay
+# the same. Tunables: POSTS, COMMENTS, CATEGORIES, CONCURRENCY, WARMUP, DURATION, SCENARIOS, PORT.
+#   POSTS=100000 COMMENTS=1000000 SCENARIOS="posts comments" benchmarks/load-test.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+POSTS=${POSTS:-1000000}
+COMMENTS=${COMMENTS:-10000000}
+CATEGORIES=${CATEGORIES:-50}
+CONCURRENCY=${CONCURRENCY:-50}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-30}
+SCENARIOS=${SCENARIOS:-posts search comments categories mixed}
+PORT=${PORT:-8080}
+
+dataset=(--posts="$POSTS" --comments="$COMMENTS" --categories="$CATEGORIES")
+
+mvn -B -q -DskipTests install
+mvn -B -q -f benchmarks/pom.xml package
+
+mkdir -p benchmarks/results
+timestamp=$(date +%Y%m%d-%H%M%S)
+result_file="benchmarks/results/loadtest-${timestamp}.ndjson"
+server_log="benchmarks/results/loadtest-${timestamp}.log"
+
+java -Xms4g -Xmx4g -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.LoadTestServer \
+    "${dataset[@]}" --port="$PORT" > "$server_log" 2>&1 &
+server_pid=$!
+trap 'kill $server_pid 2>/dev/null || true' EXIT
+
+# Generating a large data set takes minutes; the server prints its marker once it is done
+until grep -qs "Load test server ready" "$server_log"; do
+    if ! kill -0 "$server_pid" 2>/dev/null; then
+        echo "Load test server exited, see $server_log" >&2
+        exit 1
+    fi
+    sleep 2
+done
+grep "Generated" "$server_log" || true
+
+for scenario in $SCENARIOS; do
+    java -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.HttpLoadDriver \
+        --base-url="http://localhost:${PORT}" --scenario="$scenario" "${dataset[@]}" \
+        --concurrency="$CONCURRENCY" --warmup="$WARMUP" --duration="$DURATION" --output="$result_file"
+done
+
+kill "$server_pid"
+wait "$server_pid" 2>/dev/null || true
+trap - EXIT
+
+echo "Results written to $result_file"
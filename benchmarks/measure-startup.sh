@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Measures cold start of the application in four modes and writes a Markdown report to
+# benchmarks/results/startup-<timestamp>.md:
+#   default  - the repackaged jar as built today
+#   lazy     - the same jar with the fast-start profile (lazy beans, background Hibernate bootstrap)
+#   aot      - the AOT-processed classes on a flat class path, plus the fast-start profile
+#   aot-cds  - aot, with classes mapped from the class data sharing archive of the training run
+# Each mode is started RUNS times; the report shows the median of Spring's "Started ... in" time and
+# of the time until the first HTTP response. Tunables: RUNS, PROFILE, PORT.
+#   RUNS=5 benchmarks/measure-startup.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-3}
+PROFILE=${PROFILE:-dev}
+PORT=${PORT:-8080}
+
+mvn -B -q -Pfast-start -Dfast-start.profiles="$PROFILE,fast-start" -DskipTests package
+
+app_jar=$(ls target/blog-api-*-SNAPSHOT.jar)
+classes_jar=$(ls target/blog-api-*-SNAPSHOT-classes.jar)
+archive=target/blog-api.jsa
+mkdir -p benchmarks/results
+report="benchmarks/results/startup-$(date +%Y%m%d-%H%M%S).md"
+app_args=(--server.port="$PORT" --spring.jpa.show-sql=false --logging.level.org.hibernate.SQL=WARN)
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+# Prints "<started seconds> <first response ms>" for one cold start
+start_once() {
+    local log=benchmarks/results/startup.log
+    local begin
+    begin=$(now_ms)
+    "$@" "${app_args[@]}" > "$log" 2>&1 &
+    local app_pid=$!
+    trap 'kill $app_pid 2>/dev/null || true' EXIT
+
+    local first_response=""
+    for _ in $(seq 1 2400); do
+        if curl -fs -o /dev/null "http://localhost:${PORT}/api/categories"; then
+            first_response=$(( $(now_ms) - begin ))
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$app_pid"
+    wait "$app_pid" 2>/dev/null || true
+    trap - EXIT
+    if [[ -z "$first_response" ]]; then
+        echo "Application did not answer; see $log" >&2
+        exit 1
+    fi
+    local started
+    started=$(sed -n 's/.*Started BlogApiApplication in \([0-9.]*\) seconds.*/\1/p' "$log")
+    echo "$started $first_response"
+}
+
+run_mode() {
+    local label=$1
+    shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(start_once "$@")")
+    done
+    local started first_response
+    started=$(printf '%s\n' "${samples[@]}" | cut -d' ' -f1 | median)
+    first_response=$(printf '%s\n' "${samples[@]}" | cut -d' ' -f2 | median)
+    printf '| %-8s | %17s | %22s |\n' "$label" "$started s" "$first_response ms" | tee -a "$report"
+}
+
+{
+    echo "Startup with profile \`$PROFILE\`, median of $RUNS runs, $(nproc) CPUs, $(java -version 2>&1 | head -1)"
+    echo
+    echo "| Mode     | Started (Spring)  | First response (wall)  |"
+    echo "|----------|-------------------|------------------------|"
+} | tee "$report"
+
+run_mode default java -jar "$app_jar" --spring.profiles.active="$PROFILE"
+run_mode lazy java -jar "$app_jar" --spring.profiles.active="$PROFILE,fast-start"
+run_mode aot java -Dspring.aot.enabled=true -cp "$classes_jar:target/lib/*" \
+    com.blogapi.BlogApiApplication --spring.profiles.active="$PROFILE,fast-start"
+run_mode aot-cds java -XX:SharedArchiveFile="$archive" -Xlog:cds=error -Dspring.aot.enabled=true \
+    -cp "$classes_jar:target/lib/*" com.blogapi.BlogApiApplication --spring.profiles.active="$PROFILE,fast-start"
+
+echo
+echo "Report written to $report"
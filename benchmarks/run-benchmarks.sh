@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Builds the application and the JMH module, then runs the benchmarks and stores the JSON results
+# under benchmarks/results/<commit>-<timestamp>.json. Extra arguments go straight to JMH, e.g.
+#   benchmarks/run-benchmarks.sh PostServiceBenchmark -p posts=10000
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+mvn -B -q -DskipTests install
+mvn -B -q -f benchmarks/pom.xml package
+
+mkdir -p benchmarks/results
+revision=$(git rev-parse --short HEAD 2>/dev/null || echo local)
+result_file="benchmarks/results/${revision}-$(date +%Y%m%d-%H%M%S).json"
+
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$result_file" "$@"
+
+echo "Results written to $result_file"
+echo "Compare with: java -cp benchmarks/target/benchmarks.jar com.blogapi.benchmark.BenchmarkComparison <baseline.json> $result_file"
@@ -0,0 +1,89 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.config.JacksonConfig;
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.entity.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the post listing envelope, {@code ApiResponse<Page<PostResponse>>},
+ * with the same mapper settings and envelope serializers Spring Boot applies to the HTTP message
+ * converters. Run with {@code -prof gc} to see bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+    
+    @Param({"10", "100"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private Page<PostResponse> page;
+    private ApiResponse<Page<PostResponse>> response;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new JacksonConfig().responseSerializersModule())
+                .build();
+        
+        Random random = new Random(BenchmarkData.SEED);
+        List<PostResponse> posts = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Post post = BenchmarkData.post(random, i + 1);
+            posts.add(PostResponse.builder()
+                    .id(post.getId())
+                    .title(post.getTitle())
+                    .content(post.getContent().substring(0, 200))
+                    .author(post.getAuthor())
+                    .categoryId(post.getCategory().getId())
+                    .categoryName(post.getCategory().getName())
+                    .createdAt(post.getCreatedAt())
+                    .updatedAt(post.getUpdatedAt())
+                    .build());
+        }
+        page = new PageImpl<>(posts,
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+        response = ApiResponse.success("Posts retrieved successfully", page);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    // What a controller does per request: build the envelope, then serialize it
+    @Benchmark
+    public byte[] respond() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Posts retrieved successfully", page));
+    }
+}
@@ -0,0 +1,131 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostSummary;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks. Every generator takes a seeded {@link Random}
+ * so two runs on the same commit see exactly the same rows and payloads.
+ */
+public final class BenchmarkData {
+    
+    public static final long SEED = 42L;
+    
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "database", "index", "query", "cache", "latency", "throughput",
+            "design", "api", "rest", "json", "service", "repository", "transaction", "pagination",
+            "search", "cluster", "deploy", "container", "thread", "memory", "garbage", "collector",
+            "benchmark", "profile", "schema", "migration", "replica", "stream", "event", "queue",
+            "the", "a", "and", "of", "to", "in", "for", "with", "on", "how", "why", "when", "building",
+            "running", "scaling", "testing", "tuning", "measuring", "writing", "reading", "learning"
+    };
+    
+    private static final String[] AUTHORS = {
+            "John Doe", "Jane Smith", "Bob Johnson", "Alice Brown", "Carol White", "David Green",
+            "Eve Black", "Frank Miller", "Grace Lee", "Henry Wilson"
+    };
+    
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+    
+    private BenchmarkData() {
+    }
+    
+    public static String text(Random random, int words) {
+        StringBuilder builder = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+    
+    public static String author(Random random) {
+        return AUTHORS[random.nextInt(AUTHORS.length)];
+    }
+    
+    public static Post post(Random random, long id) {
+        Category category = Category.builder()
+                .id(1 + id % 3)
+                .name("Category " + (1 + id % 3))
+                .description("Benchmark category")
+                .createdAt(EPOCH)
+                .updatedAt(EPOCH)
+                .build();
+        LocalDateTime createdAt = EPOCH.plusSeconds(id * 37);
+        return Post.builder()
+                .id(id)
+                .title(text(random, 6))
+                .content(text(random, 150))
+                .author(AUTHORS[random.nextInt(AUTHORS.length)])
+                .category(category)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+    
+    /**
+     * Listing row for {@code post} backed by a map, the same way Spring Data materializes
+     * interface projections from query tuples.
+     */
+    public static PostSummary summary(Post post, int excerptLength) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", post.getId());
+        row.put("title", post.getTitle());
+        row.put("excerpt", post.getContent().substring(0, Math.min(excerptLength, post.getContent().length())));
+        row.put("author", post.getAuthor());
+        row.put("categoryId", post.getCategory().getId());
+        row.put("categoryName", post.getCategory().getName());
+        row.put("commentCount", post.getCommentCount());
+        row.put("approvedCommentCount", post.getApprovedCommentCount());
+        row.put("createdAt", post.getCreatedAt());
+        row.put("updatedAt", post.getUpdatedAt());
+        return PROJECTIONS.createProjection(PostSummary.class, row);
+    }
+    
+    /**
+     * Inserts {@code count} posts spread over the existing categories with JDBC batches, bypassing
+     * the persistence context so large data sets load in seconds rather than minutes.
+     */
+    public static void seedPosts(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(SEED);
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM posts", Long.class);
+        
+        String sql = "INSERT INTO posts (id, title, content, author, category_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= count; i++) {
+            long id = maxId + i;
+            Timestamp createdAt = Timestamp.valueOf(EPOCH.plusSeconds(id * 37));
+            batch.add(new Object[]{
+                    id,
+                    text(random, 6),
+                    text(random, 150),
+                    AUTHORS[random.nextInt(AUTHORS.length)],
+                    categoryIds.get(random.nextInt(categoryIds.size())),
+                    createdAt,
+                    createdAt
+            });
+            if (batch.size() == SEED_BATCH_SIZE || i == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.blogapi.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import com.blogapi.logging.RateSamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of request threads that log like {@code GET /api/posts/{id}} does: one INFO line from
+ * the controller and one from the service. The appenders mirror {@code logback-spring.xml} in a
+ * private logger context:
+ * <ul>
+ *     <li>{@code off} - loggers at WARN, so both calls return after the level check</li>
+ *     <li>{@code sync} - the rolling file appender written on the request thread</li>
+ *     <li>{@code async} - the same appender behind a bounded, non-blocking {@code AsyncAppender};
+ *         events past the discarding threshold are dropped, not written</li>
+ *     <li>{@code sampled} - {@code async} plus the rate sampling filter, as configured by default</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    
+    private static final String TEMPLATE = "Fetching post with id: {}";
+    
+    @Param({"off", "sync", "async", "sampled"})
+    public String mode;
+    
+    private Path workDirectory;
+    private LoggerContext context;
+    private Logger controller;
+    private Logger service;
+    
+    @State(Scope.Thread)
+    public static class Request {
+        long id;
+    }
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("blog-api-logging-bench");
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+        
+        Appender<ILoggingEvent> appender = fileAppender(workDirectory);
+        if (!mode.equals("sync")) {
+            appender = asyncAppender(appender);
+        }
+        if (mode.equals("sampled")) {
+            RateSamplingTurboFilter filter = new RateSamplingTurboFilter();
+            filter.setContext(context);
+            filter.addLogger("com.blogapi.controller");
+            filter.addLogger("com.blogapi.service");
+            filter.setMaxPerSecond(20);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+        
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.addAppender(appender);
+        root.setLevel(mode.equals("off") ? ch.qos.logback.classic.Level.WARN : ch.qos.logback.classic.Level.INFO);
+        controller = context.getLogger("com.blogapi.controller.PostController");
+        service = context.getLogger("com.blogapi.service.PostService");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+        FileSystemUtils.deleteRecursively(workDirectory.toFile());
+    }
+    
+    @Benchmark
+    public long getPost(Request request) {
+        long id = ++request.id;
+        controller.info(TEMPLATE, id);
+        service.info(TEMPLATE, id);
+        return id;
+    }
+    
+    private Appender<ILoggingEvent> fileAppender(Path directory) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        
+        RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
+        appender.setContext(context);
+        appender.setName("FILE");
+        appender.setFile(directory.resolve("app.log").toString());
+        appender.setEncoder(encoder);
+        
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+        policy.setContext(context);
+        policy.setParent(appender);
+        policy.setFileNamePattern(directory.resolve("app-%d{yyyy-MM-dd}.%i.log").toString());
+        policy.setMaxFileSize(FileSize.valueOf("10MB"));
+        policy.setMaxHistory(30);
+        policy.setTotalSizeCap(FileSize.valueOf("1GB"));
+        policy.start();
+        
+        appender.setRollingPolicy(policy);
+        appender.start();
+        return appender;
+    }
+    
+    private Appender<ILoggingEvent> asyncAppender(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_FILE");
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,127 @@
+package com.blogapi.benchmark;
+
+import com.blogapi.BlogApiApplication;
+import com.blogapi.model.dto.Cursor;
+import com.blogapi.model.dto.CursorPage;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.search.LucenePostSearchIndex;
+import com.blogapi.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link PostService} calls (transaction, repository query, mapping) against an H2
+ * file database seeded with {@code posts} rows. The application context runs with the
+ * {@code bench} profile: no web server, no SQL logging and zero-sized caches so every call
+ * reaches the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PostServiceBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    // Measured as list pages that ask for excerpts rather than full post bodies
+    private static final int EXCERPT_LENGTH = 200;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+    
+    @Param({"10000", "100000", "1000000"})
+    public int posts;
+    
+    private Path workDirectory;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    
+    private Pageable deepPage;
+    private String deepCursor;
+    private long minId;
+    private long maxId;
+    private final SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDirectory = Files.createTempDirectory("blog-api-bench");
+        context = new SpringApplicationBuilder(BlogApiApplication.class).run(
+                "--spring.profiles.active=bench",
+                "--spring.datasource.url=jdbc:h2:file:" + workDirectory.resolve("blog") + ";CACHE_SIZE=262144",
+                "--blog.search.lucene.directory=" + workDirectory.resolve("search-index"));
+        postService = context.getBean(PostService.class);
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData.seedPosts(jdbcTemplate, posts);
+        jdbcTemplate.execute("ANALYZE");
+        context.getBean(LucenePostSearchIndex.class).rebuild();
+        
+        minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM posts", Long.class);
+        maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        int middle = posts / 2;
+        deepPage = PageRequest.of(middle / PAGE_SIZE, PAGE_SIZE, FIRST_PAGE.getSort());
+        deepCursor = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM posts ORDER BY created_at DESC, id DESC OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                (rs, rowNum) -> new Cursor(rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("id")).encode(),
+                middle);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        FileSystemUtils.deleteRecursively(workDirectory);
+    }
+    
+    @Benchmark
+    public PostResponse getPostById() {
+        return postService.getPostById(random.nextLong(minId, maxId + 1));
+    }
+    
+    @Benchmark
+    public Page<PostResponse> getAllPostsFirstPage() {
+        return postService.getAllPosts(FIRST_PAGE, EXCERPT_LENGTH);
+    }
+    
+    @Benchmark
+    public Page<PostResponse> getAllPostsDeepPage() {
+        return postService.getAllPosts(deepPage, EXCERPT_LENGTH);
+    }
+    
+    @Benchmark
+    public CursorPage<PostResponse> getPostsByCursorFirstPage() {
+        return postService.getPostsByCursor(null, PAGE_SIZE, EXCERPT_LENGTH);
+    }
+    
+    @Benchmark
+    public CursorPage<PostResponse> getPostsByCursorDeepPage() {
+        return postService.getPostsByCursor(deepCursor, PAGE_SIZE, EXCERPT_LENGTH);
+    }
+    
+    @Benchmark
+    public Page<PostResponse> searchPosts() {
+        return postService.searchPosts("scaling cache", FIRST_PAGE, EXCERPT_LENGTH);
+    }
+}
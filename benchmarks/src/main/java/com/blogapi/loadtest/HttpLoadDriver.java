@@ -0,0 +1,227 @@
+package com.blogapi.loadtest;
+
+import com.blogapi.benchmark.BenchmarkData;
+import com.blogapi.loadtest.LoadScenario.LoadRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} workers each send one request at a time,
+ * cycling through {@code paths}, or drawing from a {@link LoadScenario} when {@code scenario} is
+ * given, for a warmup period and then a measured period. Prints throughput, error count and
+ * latency percentiles, and optionally appends them as one JSON line to {@code output} so runs in
+ * different modes can be compared side by side. Scenarios take the same data set options as
+ * {@link LoadTestServer} ({@code posts}, {@code categories}, ...) to know which ids exist.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.HttpLoadDriver \
+ *     --base-url=http://localhost:8080 --concurrency=400 --warmup=10 --duration=30 --label=platform
+ * java -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.HttpLoadDriver \
+ *     --scenario=comments --posts=1000000 --comments=10000000 --concurrency=50
+ * </pre>
+ */
+public final class HttpLoadDriver {
+    
+    private static final String DEFAULT_PATHS = "/api/posts?page=0&size=20,/api/posts/1,/api/posts/cursor?size=20," +
+            "/api/posts/search?searchTerm=spring,/api/categories,/api/posts/1/comments";
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    private final RequestSource requests;
+    
+    private HttpLoadDriver(String baseUrl, RequestSource requests) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.requests = requests;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        
+        String label;
+        RequestSource requests;
+        if (options.containsKey("scenario")) {
+            LoadScenario scenario = LoadScenario.of(options.get("scenario"));
+            SyntheticDataset dataset = SyntheticDataset.from(options);
+            label = options.getOrDefault("label", scenario.label());
+            requests = (iteration, random) -> scenario.next(dataset, random);
+        } else {
+            List<String> paths = Arrays.asList(options.getOrDefault("paths", DEFAULT_PATHS).split(","));
+            label = options.getOrDefault("label", "run");
+            requests = (iteration, random) -> LoadRequest.get(paths.get(iteration % paths.size()));
+        }
+        
+        HttpLoadDriver driver = new HttpLoadDriver(options.getOrDefault("base-url", "http://localhost:8080"), requests);
+        Result result = driver.run(concurrency, warmupSeconds, durationSeconds);
+        
+        String json = result.toJson(label, concurrency);
+        System.out.println(result.toSummary(label, concurrency));
+        if (options.containsKey("output")) {
+            Files.writeString(Path.of(options.get("output")), json + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+    
+    private Result run(int concurrency, int warmupSeconds, int durationSeconds) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Recorder>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            futures.add(workers.submit(() -> work(offset, measureFrom, deadline)));
+        }
+        
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdown();
+        return new Result(total, durationSeconds);
+    }
+    
+    private Recorder work(int offset, long measureFrom, long deadline) {
+        Recorder recorder = new Recorder();
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED + offset);
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            LoadRequest next = requests.next(i, random);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + next.path()))
+                    .timeout(Duration.ofSeconds(30))
+                    .method(next.method(), HttpRequest.BodyPublishers.noBody())
+                    .build();
+            long sent = System.nanoTime();
+            boolean ok;
+            try {
+                ok = next.accepts(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (IOException ex) {
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long completed = System.nanoTime();
+            // Requests still in flight at the deadline are waited for and kept, so endpoints slower
+            // than the measured period show up in the percentiles instead of disappearing
+            if (sent >= measureFrom) {
+                recorder.record(completed - sent, ok);
+            }
+        }
+        return recorder;
+    }
+    
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+    
+    @FunctionalInterface
+    interface RequestSource {
+        
+        LoadRequest next(int iteration, SplittableRandom random);
+    }
+    
+    /**
+     * Per-worker latency log; merged once at the end so workers never contend on shared state.
+     */
+    static final class Recorder {
+        
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        
+        void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+        
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+    
+    static final class Result {
+        
+        private final long[] sorted;
+        private final long errors;
+        private final int durationSeconds;
+        
+        Result(Recorder recorder, int durationSeconds) {
+            this.sorted = Arrays.copyOf(recorder.latencies, recorder.count);
+            Arrays.sort(sorted);
+            this.errors = recorder.errors;
+            this.durationSeconds = durationSeconds;
+        }
+        
+        double throughput() {
+            return (double) sorted.length / durationSeconds;
+        }
+        
+        double percentileMillis(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+        
+        String toSummary(String label, int concurrency) {
+            return String.format(Locale.ROOT,
+                    "%-12s concurrency=%d requests=%d errors=%d throughput=%.1f req/s " +
+                            "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                    label, concurrency, sorted.length, errors, throughput(), percentileMillis(50),
+                    percentileMillis(90), percentileMillis(99), percentileMillis(99.9), percentileMillis(100));
+        }
+        
+        String toJson(String label, int concurrency) {
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f," +
+                            "\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"max\":%.3f}",
+                    label, concurrency, sorted.length, errors, throughput(), percentileMillis(50),
+                    percentileMillis(90), percentileMillis(99), percentileMillis(99.9), percentileMillis(100));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.blogapi.loadtest;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Request mixes per endpoint family, drawn against a {@link SyntheticDataset}. Reads of single
+ * posts and comment listings favour popular posts, and category reads favour large categories,
+ * with the same Zipf skew the data was generated with.
+ */
+public enum LoadScenario {
+    
+    POSTS {
+        @Override
+        LoadRequest next(SyntheticDataset dataset, RandomGenerator random) {
+            int pick = random.nextInt(10);
+            if (pick < 4) {
+                return LoadRequest.get("/api/posts/" + dataset.popularPostId(random));
+            }
+            if (pick < 6) {
+                return LoadRequest.get("/api/posts/" + dataset.anyPostId(random));
+            }
+            if (pick < 8) {
+                return LoadRequest.get("/api/posts?page=" + random.nextInt(5) + "&size=20");
+            }
+            return LoadRequest.get("/api/posts/cursor?size=20");
+        }
+    },
+    
+    SEARCH {
+        @Override
+        LoadRequest next(SyntheticDataset dataset, RandomGenerator random) {
+            return LoadRequest.get("/api/posts/search?size=20&searchTerm=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+        }
+    },
+    
+    COMMENTS {
+        @Override
+        LoadRequest next(SyntheticDataset dataset, RandomGenerator random) {
+            long postId = dataset.popularPostId(random);
+            int pick = random.nextInt(10);
+            if (pick < 5) {
+                return LoadRequest.get("/api/posts/" + postId + "/comments?page=0&size=20");
+            }
+            if (pick < 9) {
+                return LoadRequest.get("/api/posts/" + postId + "/comments/cursor?size=20");
+            }
+            // Unpaged: on the most commented posts this returns every approved comment
+            return LoadRequest.get("/api/posts/" + postId + "/comments/approved");
+        }
+    },
+    
+    CATEGORIES {
+        @Override
+        LoadRequest next(SyntheticDataset dataset, RandomGenerator random) {
+            int pick = random.nextInt(10);
+            if (pick < 2) {
+                return LoadRequest.get("/api/categories?page=0&size=20");
+            }
+            if (pick < 8) {
+                return LoadRequest.get("/api/posts/category/" + dataset.popularCategoryId(random) + "?size=20");
+            }
+            // Every generated category has posts, so the delete is refused after the existence check
+            return LoadRequest.delete("/api/categories/" + dataset.popularCategoryId(random), 400);
+        }
+    },
+    
+    MIXED {
+        @Override
+        LoadRequest next(SyntheticDataset dataset, RandomGenerator random) {
+            int pick = random.nextInt(10);
+            if (pick < 5) {
+                return POSTS.next(dataset, random);
+            }
+            if (pick < 7) {
+                return COMMENTS.next(dataset, random);
+            }
+            if (pick < 9) {
+                return CATEGORIES.next(dataset, random);
+            }
+            return SEARCH.next(dataset, random);
+        }
+    };
+    
+    private static final String[] SEARCH_TERMS = {
+            "spring", "cache", "latency", "database+index", "scaling+cache", "thread+memory", "replica",
+            "garbage+collector", "query+tuning", "json"
+    };
+    
+    abstract LoadRequest next(SyntheticDataset dataset, RandomGenerator random);
+    
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    public static LoadScenario of(String label) {
+        return valueOf(label.toUpperCase(Locale.ROOT));
+    }
+    
+    /**
+     * One request to send; {@code expectedStatus} of 0 accepts any status below 400.
+     */
+    record LoadRequest(String method, String path, int expectedStatus) {
+        
+        static LoadRequest get(String path) {
+            return new LoadRequest("GET", path, 0);
+        }
+        
+        static LoadRequest delete(String path, int expectedStatus) {
+            return new LoadRequest("DELETE", path, expectedStatus);
+        }
+        
+        boolean accepts(int status) {
+            return expectedStatus == 0 ? status < 400 : status == expectedStatus;
+        }
+    }
+}
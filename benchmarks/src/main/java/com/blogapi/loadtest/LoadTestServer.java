@@ -0,0 +1,68 @@
+package com.blogapi.loadtest;
+
+import com.blogapi.BlogApiApplication;
+import com.blogapi.search.LucenePostSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Runs the application with the {@code loadtest} profile on an H2 file database in
+ * {@code work-directory}, generating a {@link SyntheticDataset} into it on first start. Later starts
+ * with the same data set options reuse the database, so a load test of a few minutes does not pay
+ * for regenerating tens of millions of rows. Prints {@value #READY} once requests can be sent.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.blogapi.loadtest.LoadTestServer \
+ *     --posts=1000000 --comments=10000000 --port=8080
+ * </pre>
+ */
+public final class LoadTestServer {
+    
+    static final String READY = "Load test server ready";
+    
+    private static final String MANIFEST = "dataset.txt";
+    
+    private LoadTestServer() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = HttpLoadDriver.parse(args);
+        SyntheticDataset dataset = SyntheticDataset.from(options);
+        Path workDirectory = Path.of(options.getOrDefault("work-directory", "benchmarks/target/loadtest-data"));
+        Path manifest = workDirectory.resolve(MANIFEST);
+        
+        if (Files.exists(manifest)) {
+            String existing = Files.readString(manifest, StandardCharsets.UTF_8).trim();
+            if (!existing.equals(dataset.describe())) {
+                throw new IllegalStateException("The database in " + workDirectory + " holds " + existing
+                        + ", not " + dataset.describe() + "; delete the directory to generate it again");
+            }
+        }
+        // A directory without a manifest is new or left over from an interrupted run
+        boolean generate = !Files.exists(manifest);
+        Files.createDirectories(workDirectory);
+        
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApiApplication.class).run(
+                "--spring.profiles.active=loadtest",
+                "--spring.datasource.url=jdbc:h2:file:" + workDirectory.toAbsolutePath().resolve("blog") + ";CACHE_SIZE=262144;DB_CLOSE_ON_EXIT=FALSE",
+                "--blog.search.lucene.directory=" + workDirectory.toAbsolutePath().resolve("search-index"),
+                "--spring.jpa.hibernate.ddl-auto=" + (generate ? "create" : "validate"),
+                "--server.port=" + options.getOrDefault("port", "8080"));
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (generate) {
+            SyntheticDataGenerator.from(dataset, options).load(jdbcTemplate);
+            jdbcTemplate.execute("ANALYZE");
+            context.getBean(LucenePostSearchIndex.class).reconcile();
+            Files.writeString(manifest, dataset.describe() + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        
+        System.out.println(READY + " on port " + options.getOrDefault("port", "8080") + " with " + dataset.describe());
+    }
+}
@@ -0,0 +1,162 @@
+package com.blogapi.loadtest;
+
+import com.blogapi.benchmark.BenchmarkData;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a {@link SyntheticDataset} with JDBC batches, bypassing the persistence context. The posts
+ * are split into chunks of consecutive ids and the chunks are loaded by parallel workers. Each
+ * worker inserts a batch of posts, with their final comment counts, and then the comments of
+ * those posts. Every chunk draws from its own seeded random and owns precomputed id ranges, so
+ * the same options always produce the same rows, whatever the thread scheduling.
+ */
+public final class SyntheticDataGenerator {
+    
+    private static final int CHUNK_SIZE = 10_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long POST_SPAN_SECONDS = TimeUnit.DAYS.toSeconds(730);
+    private static final long COMMENT_SPAN_SECONDS = TimeUnit.DAYS.toSeconds(30);
+    
+    private static final String CATEGORY_SQL = "INSERT INTO categories (id, name, description, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String POST_SQL = "INSERT INTO posts (id, title, content, author, category_id, created_at, " +
+            "updated_at, version, comment_count, approved_comment_count) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String COMMENT_SQL = "INSERT INTO comments (id, content, author, post_id, approved, created_at, " +
+            "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private final SyntheticDataset dataset;
+    private final int threads;
+    private final int batchSize;
+    private final double approvedRatio;
+    
+    public SyntheticDataGenerator(SyntheticDataset dataset, int threads, int batchSize, double approvedRatio) {
+        this.dataset = dataset;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.approvedRatio = approvedRatio;
+    }
+    
+    public static SyntheticDataGenerator from(SyntheticDataset dataset, Map<String, String> options) {
+        return new SyntheticDataGenerator(dataset,
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(options.getOrDefault("batch-size", "1000")),
+                Double.parseDouble(options.getOrDefault("approved-ratio", "0.9")));
+    }
+    
+    /**
+     * Loads the data set into empty {@code categories}, {@code posts} and {@code comments} tables and
+     * moves the ID sequences past the generated ids.
+     */
+    public void load(JdbcTemplate jdbcTemplate) throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        insertCategories(jdbcTemplate);
+        
+        int posts = dataset.posts();
+        int[] ranks = new int[posts];
+        int[] postIdsByRank = dataset.postIdsByRank();
+        for (int rank = 0; rank < posts; rank++) {
+            ranks[postIdsByRank[rank] - 1] = rank;
+        }
+        long[] firstCommentIds = new long[posts];
+        long nextCommentId = 1;
+        for (int i = 0; i < posts; i++) {
+            firstCommentIds[i] = nextCommentId;
+            nextCommentId += dataset.commentsAtRank(ranks[i]);
+        }
+        
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 1, chunk = 0; from <= posts; from += CHUNK_SIZE, chunk++) {
+                int first = from;
+                int last = Math.min(from + CHUNK_SIZE - 1, posts);
+                Random random = new Random(dataset.seed() * 31 + chunk);
+                chunks.add(workers.submit(() -> insertChunk(jdbcTemplate, first, last, ranks, firstCommentIds, random)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        
+        restartSequences(jdbcTemplate, nextCommentId - 1);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long rows = dataset.categories() + posts + dataset.comments();
+        System.out.printf(Locale.ROOT, "Generated %d categories, %d posts and %d comments in %.1f s (%.0f rows/s)%n",
+                dataset.categories(), posts, dataset.comments(), seconds, rows / seconds);
+    }
+    
+    private void insertCategories(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(dataset.seed());
+        Timestamp createdAt = Timestamp.valueOf(EPOCH);
+        List<Object[]> rows = new ArrayList<>(dataset.categories());
+        for (int id = 1; id <= dataset.categories(); id++) {
+            rows.add(new Object[]{id, "Category " + id, BenchmarkData.text(random, 12), createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate(CATEGORY_SQL, rows);
+    }
+    
+    private void insertChunk(JdbcTemplate jdbcTemplate, int first, int last, int[] ranks, long[] firstCommentIds, Random random) {
+        ZipfDistribution categories = dataset.categoryPopularity();
+        List<Object[]> postRows = new ArrayList<>(batchSize);
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int id = first; id <= last; id++) {
+            LocalDateTime createdAt = EPOCH.plusSeconds((id - 1) * POST_SPAN_SECONDS / dataset.posts());
+            long comments = dataset.commentsAtRank(ranks[id - 1]);
+            long approved = 0;
+            for (long i = 0; i < comments; i++) {
+                boolean isApproved = random.nextDouble() < approvedRatio;
+                approved += isApproved ? 1 : 0;
+                Timestamp commentedAt = Timestamp.valueOf(createdAt.plusSeconds(random.nextLong(COMMENT_SPAN_SECONDS)));
+                commentRows.add(new Object[]{firstCommentIds[id - 1] + i, BenchmarkData.text(random, 20),
+                        BenchmarkData.author(random), id, isApproved, commentedAt, commentedAt});
+            }
+            Timestamp postedAt = Timestamp.valueOf(createdAt);
+            postRows.add(new Object[]{id, BenchmarkData.text(random, 6), BenchmarkData.text(random, 120),
+                    BenchmarkData.author(random), categories.sample(random) + 1, postedAt, postedAt, comments, approved});
+            
+            // Posts go first so the comments' foreign keys resolve
+            if (postRows.size() == batchSize || id == last) {
+                jdbcTemplate.batchUpdate(POST_SQL, postRows);
+                postRows.clear();
+                for (int from = 0; from < commentRows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(COMMENT_SQL, commentRows.subList(from, Math.min(from + batchSize, commentRows.size())));
+                }
+                commentRows.clear();
+            }
+        }
+    }
+    
+    // Same convention as db/postgres/sequences.sql: the next value handed out is the top of a
+    // block of 50 that starts just past the highest id
+    private void restartSequences(JdbcTemplate jdbcTemplate, long lastCommentId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        Map<String, Long> lastIds = Map.of(
+                "categories_seq", (long) dataset.categories(),
+                "posts_seq", (long) dataset.posts(),
+                "comments_seq", lastCommentId);
+        lastIds.forEach((sequence, lastId) -> {
+            if ("PostgreSQL".equals(database)) {
+                jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', " + Math.max(lastId, 1) + ")", Long.class);
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 50));
+            }
+        });
+    }
+}
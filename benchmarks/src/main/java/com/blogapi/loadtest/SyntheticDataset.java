@@ -0,0 +1,121 @@
+package com.blogapi.loadtest;
+
+import com.blogapi.benchmark.BenchmarkData;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shape of a synthetic data set, shared by {@link SyntheticDataGenerator}, which writes it, and
+ * {@link LoadScenario}, which picks ids to request from it. Categories and posts get consecutive
+ * ids from 1. Category popularity follows category id, so category 1 holds the most posts. Post
+ * popularity, which sets both comments per post and how often a post is read, follows a seeded
+ * shuffle of the post ids, so hot posts are spread over the whole id and date range.
+ */
+public final class SyntheticDataset {
+    
+    private final int categories;
+    private final int posts;
+    private final long comments;
+    private final double categorySkew;
+    private final double commentSkew;
+    private final long seed;
+    
+    private final ZipfDistribution categoryPopularity;
+    private final ZipfDistribution postPopularity;
+    private final int[] postIdsByRank;
+    
+    public SyntheticDataset(int categories, int posts, long comments, double categorySkew, double commentSkew, long seed) {
+        this.categories = categories;
+        this.posts = posts;
+        this.comments = comments;
+        this.categorySkew = categorySkew;
+        this.commentSkew = commentSkew;
+        this.seed = seed;
+        this.categoryPopularity = new ZipfDistribution(categories, categorySkew);
+        this.postPopularity = new ZipfDistribution(posts, commentSkew);
+        this.postIdsByRank = shuffledIds(posts, seed);
+    }
+    
+    public static SyntheticDataset from(Map<String, String> options) {
+        return new SyntheticDataset(
+                Integer.parseInt(options.getOrDefault("categories", "50")),
+                Integer.parseInt(options.getOrDefault("posts", "1000000")),
+                Long.parseLong(options.getOrDefault("comments", "10000000")),
+                Double.parseDouble(options.getOrDefault("category-skew", "1.0")),
+                Double.parseDouble(options.getOrDefault("comment-skew", "0.8")),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(BenchmarkData.SEED))));
+    }
+    
+    public int categories() {
+        return categories;
+    }
+    
+    public int posts() {
+        return posts;
+    }
+    
+    public long comments() {
+        return comments;
+    }
+    
+    public long seed() {
+        return seed;
+    }
+    
+    ZipfDistribution categoryPopularity() {
+        return categoryPopularity;
+    }
+    
+    /**
+     * Post ids by popularity rank; rank 0 is the post with the most comments.
+     */
+    int[] postIdsByRank() {
+        return postIdsByRank;
+    }
+    
+    /**
+     * Comments on the post at {@code rank}; over all ranks they add up to {@link #comments()}.
+     */
+    long commentsAtRank(int rank) {
+        return postPopularity.share(rank, comments);
+    }
+    
+    public long popularCategoryId(RandomGenerator random) {
+        return categoryPopularity.sample(random) + 1;
+    }
+    
+    public long popularPostId(RandomGenerator random) {
+        return postIdsByRank[postPopularity.sample(random)];
+    }
+    
+    public long anyPostId(RandomGenerator random) {
+        return random.nextInt(posts) + 1;
+    }
+    
+    /**
+     * One line identifying the data set, stored next to the generated database so a later run
+     * with different options is not silently measured against the old rows.
+     */
+    public String describe() {
+        return String.format(Locale.ROOT, "categories=%d posts=%d comments=%d category-skew=%s comment-skew=%s seed=%d",
+                categories, posts, comments, categorySkew, commentSkew, seed);
+    }
+    
+    private static int[] shuffledIds(int posts, long seed) {
+        int[] ids = new int[posts];
+        for (int i = 0; i < posts; i++) {
+            ids[i] = i + 1;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = posts - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+}
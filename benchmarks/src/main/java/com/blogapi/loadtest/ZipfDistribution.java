@@ -0,0 +1,49 @@
+package com.blogapi.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over ranks {@code 0..n-1}: rank {@code k} has weight {@code 1 / (k + 1)^exponent},
+ * so with an exponent of 1 the top rank is twice as likely as the second and ten times as likely as
+ * the tenth. Sampling is a binary search over the precomputed cumulative distribution.
+ */
+public final class ZipfDistribution {
+    
+    private final double[] cumulative;
+    
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+    
+    public int size() {
+        return cumulative.length;
+    }
+    
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    /**
+     * Share of {@code total} items that falls on {@code rank} when the items are split exactly in
+     * proportion to the weights. The shares of all ranks add up to {@code total}.
+     */
+    public long share(int rank, long total) {
+        long upTo = Math.round(total * cumulative[rank]);
+        long before = rank == 0 ? 0 : Math.round(total * cumulative[rank - 1]);
+        return upTo - before;
+    }
+}
@@ -0,0 +1,77 @@
+package com.blogapi.service;
+
+import com.blogapi.benchmark.BenchmarkData;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to {@link PostResponse} mapping, i.e. the per-row cost paid by every
+ * post endpoint. Lives in the service package to reach the package-private mappers directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PostMappingBenchmark {
+    
+    private static final int EXCERPT_LENGTH = 200;
+    
+    private final PostService postService = new PostService(null, null, null, null, null);
+    private Post post;
+    
+    @Setup
+    public void setUp() {
+        post = BenchmarkData.post(new Random(BenchmarkData.SEED), 1);
+    }
+    
+    @State(Scope.Benchmark)
+    public static class SummaryPage {
+        
+        @Param({"20", "100"})
+        public int pageSize;
+        
+        private List<PostSummary> summaries;
+        
+        @Setup
+        public void setUp() {
+            Random random = new Random(BenchmarkData.SEED);
+            summaries = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                summaries.add(BenchmarkData.summary(BenchmarkData.post(random, i + 1), EXCERPT_LENGTH));
+            }
+        }
+    }
+    
+    @Benchmark
+    public PostResponse mapEntity() {
+        return postService.mapToResponse(post);
+    }
+    
+    @Benchmark
+    public List<PostResponse> mapSummaryPage(SummaryPage page) {
+        List<PostResponse> responses = new ArrayList<>(page.summaries.size());
+        for (PostSummary summary : page.summaries) {
+            responses.add(postService.mapToResponse(summary));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,113 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.ResponseClock;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the {@link ApiResponse} envelope field by field. The JSON form has the same fields, order and
+ * values that bean serialization produced. Field names and messages are pre-encoded, and the timestamp reuses the
+ * encoding cached by {@link ResponseClock}. The lean form, used by the binary formats, keeps only
+ * the non-null data, error and timestamp.
+ */
+@SuppressWarnings("rawtypes")
+public final class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+    
+    public static final ApiResponseSerializer JSON = new ApiResponseSerializer(false);
+    public static final ApiResponseSerializer LEAN = new ApiResponseSerializer(true);
+    
+    // Messages are nearly all literals from a small fixed set; the cap keeps dynamic ones, such as
+    // bulk import summaries, from growing the cache without bound
+    static final int MAX_CACHED_MESSAGES = 256;
+    
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString ERROR = new SerializedString("error");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    
+    private final boolean lean;
+    private final Map<String, SerializableString> messages = new ConcurrentHashMap<>();
+    
+    private ApiResponseSerializer(boolean lean) {
+        super(ApiResponse.class);
+        this.lean = lean;
+    }
+    
+    @Override
+    public void serialize(ApiResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(response);
+        if (lean) {
+            writeLean(response, generator, provider);
+        } else {
+            writeJson(response, generator, provider);
+        }
+        generator.writeEndObject();
+    }
+    
+    private void writeJson(ApiResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeFieldName(STATUS);
+        generator.writeNumber(response.getStatus());
+        generator.writeFieldName(MESSAGE);
+        writeMessage(response.getMessage(), generator);
+        generator.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), generator);
+        generator.writeFieldName(ERROR);
+        generator.writeString(response.getError());
+        generator.writeFieldName(TIMESTAMP);
+        writeTimestamp(response.getTimestamp(), generator);
+    }
+    
+    private static void writeLean(ApiResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (response.getData() != null) {
+            generator.writeFieldName(DATA);
+            provider.defaultSerializeValue(response.getData(), generator);
+        }
+        if (response.getError() != null) {
+            generator.writeFieldName(ERROR);
+            generator.writeString(response.getError());
+        }
+        if (response.getTimestamp() != null) {
+            generator.writeFieldName(TIMESTAMP);
+            provider.defaultSerializeValue(response.getTimestamp(), generator);
+        }
+    }
+    
+    private void writeMessage(String message, JsonGenerator generator) throws IOException {
+        if (message == null) {
+            generator.writeNull();
+            return;
+        }
+        SerializableString encoded = messages.get(message);
+        if (encoded == null && messages.size() < MAX_CACHED_MESSAGES) {
+            encoded = messages.computeIfAbsent(message, SerializedString::new);
+        }
+        if (encoded != null) {
+            generator.writeString(encoded);
+        } else {
+            generator.writeString(message);
+        }
+    }
+    
+    private static void writeTimestamp(LocalDateTime timestamp, JsonGenerator generator) throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+            return;
+        }
+        SerializableString encoded = ResponseClock.encoded(timestamp);
+        if (encoded != null) {
+            generator.writeString(encoded);
+        } else {
+            generator.writeString(ResponseClock.FORMAT.format(timestamp));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Binary representations for service-to-service clients. Every endpoint answers
+ * {@code Accept: application/cbor} and {@code Accept: application/x-jackson-smile}, and accepts
+ * request bodies in either format. JSON stays the default and is unchanged.
+ * <p>
+ * The binary mappers start from Spring Boot's Jackson settings but write a leaner shape. The
+ * {@link ApiResponse} envelope drops {@code status} and {@code message}, which repeat the HTTP
+ * status line. Timestamps are epoch milliseconds rather than formatted strings, null fields are
+ * omitted, and a {@link Page} is reduced to its content and counts.
+ * <p>
+ * The representations of one state differ byte for byte, so each carries its own strong ETag;
+ * see {@link #representation(WebRequest)}.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+    
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    
+    // JSON first, so it wins ties and a missing or wildcard Accept as it does in content negotiation
+    private static final List<MediaType> REPRESENTATIONS =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    
+    // Picked up by Spring Boot's HttpMessageConverters in place of the default CBOR and Smile
+    // converters, which would use a plain mapper
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder, new CBORFactory()));
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder, new SmileFactory()));
+    }
+    
+    // The same URL now has several representations, so shared caches must key on Accept; added
+    // before the handler runs so 304s from checkNotModified carry it too
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+    
+    /**
+     * The representation the request's {@code Accept} header selects, resolved before the handler
+     * runs so that {@code checkNotModified} and the response's ETag name the body actually sent.
+     */
+    public static MediaType representation(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        MediaType selected = MediaType.APPLICATION_JSON;
+        if (accept == null) {
+            return selected;
+        }
+        double quality = 0;
+        try {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                for (MediaType representation : REPRESENTATIONS) {
+                    if (accepted.includes(representation) && accepted.getQualityValue() > quality) {
+                        selected = representation;
+                        quality = accepted.getQualityValue();
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Content negotiation rejects the header anyway; the tag is never compared
+            return MediaType.APPLICATION_JSON;
+        }
+        return selected;
+    }
+    
+    static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder
+                .factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+                .serializerByType(ApiResponse.class, ApiResponseSerializer.LEAN)
+                .serializerByType(Page.class, PageSerializer.LEAN)
+                .build();
+    }
+    
+    // Not contextual, so it also overrides the @JsonFormat patterns on the DTOs
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+        
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+        
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
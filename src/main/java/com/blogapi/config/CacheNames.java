@@ -0,0 +1,10 @@
+package com.blogapi.config;
+
+public final class CacheNames {
+    
+    public static final String POSTS = "posts";
+    public static final String CATEGORIES = "categories";
+    
+    private CacheNames() {
+    }
+}
@@ -6,15 +6,23 @@ import com.blogapi.model.entity.Comment;
 import com.blogapi.repository.CategoryRepository;
 import com.blogapi.repository.PostRepository;
 import com.blogapi.repository.CommentRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Seeds sample data into an empty database. Everything is inserted in one transaction, so each
+ * table is written with a single JDBC batch. Turned off with {@code blog.seed.enabled=false},
+ * as in the prod profile.
+ */
 @Configuration
+@ConditionalOnProperty(name = "blog.seed.enabled", havingValue = "true", matchIfMissing = true)
 @Slf4j
 public class DataInitializer {
     
@@ -22,9 +30,10 @@ public class DataInitializer {
     public CommandLineRunner initializeData(
             CategoryRepository categoryRepository,
             PostRepository postRepository,
-            CommentRepository commentRepository) {
+            CommentRepository commentRepository,
+            TransactionTemplate transactionTemplate) {
         
-        return args -> {
+        return args -> transactionTemplate.executeWithoutResult(status -> {
             // Check if data already exists
             if (categoryRepository.count() > 0) {
                 log.info("Sample data already exists, skipping initialization");
@@ -55,9 +64,7 @@ public class DataInitializer {
                     .updatedAt(LocalDateTime.now())
                     .build();
             
-            technology = categoryRepository.save(technology);
-            programming = categoryRepository.save(programming);
-            webDevelopment = categoryRepository.save(webDevelopment);
+            categoryRepository.saveAll(List.of(technology, programming, webDevelopment));
             
             log.info("✅ Created 3 categories");
             
@@ -67,6 +74,8 @@ public class DataInitializer {
                     .content("Spring Boot makes it easy to create stand-alone, production-grade Spring based applications that you can run. We take an opinionated view of the Spring platform and third-party libraries so you can get started with minimum fuss.")
                     .author("John Doe")
                     .category(technology)
+                    .commentCount(1L)
+                    .approvedCommentCount(1L)
                     .createdAt(LocalDateTime.now().minusDays(5))
                     .updatedAt(LocalDateTime.now().minusDays(5))
                     .build();
@@ -85,6 +94,8 @@ public class DataInitializer {
                     .content("Building robust REST APIs requires understanding key principles. Learn about resource design, HTTP methods, status codes, versioning, and other crucial aspects of REST API design.")
                     .author("Bob Johnson")
                     .category(webDevelopment)
+                    .commentCount(1L)
+                    .approvedCommentCount(1L)
                     .createdAt(LocalDateTime.now().minusDays(3))
                     .updatedAt(LocalDateTime.now().minusDays(3))
                     .build();
@@ -103,15 +114,12 @@ public class DataInitializer {
                     .content("Microservices have become a popular architectural pattern. Explore how to design, implement, and deploy microservices effectively with best practices and common pitfalls to avoid.")
                     .author("Charlie Wilson")
                     .category(technology)
+                    .commentCount(1L)
                     .createdAt(LocalDateTime.now().minusDays(1))
                     .updatedAt(LocalDateTime.now().minusDays(1))
                     .build();
             
-            post1 = postRepository.save(post1);
-            post2 = postRepository.save(post2);
-            post3 = postRepository.save(post3);
-            post4 = postRepository.save(post4);
-            post5 = postRepository.save(post5);
+            postRepository.saveAll(List.of(post1, post2, post3, post4, post5));
             
             log.info("✅ Created 5 sample blog posts");
             
@@ -143,9 +151,8 @@ public class DataInitializer {
                     .updatedAt(LocalDateTime.now())
                     .build();
             
-            commentRepository.save(comment1);
-            commentRepository.save(comment2);
-            commentRepository.save(comment3);
+            commentRepository.saveAll(List.of(comment1, comment2, comment3));
+            postRepository.incrementListVersion();
             
             log.info("✅ Created 3 sample comments");
             
@@ -174,6 +181,6 @@ public class DataInitializer {
                     "   • H2 Console: http://localhost:8080/h2-console\n" +
                     "\n" +
                     "╔══════════════════════════════════════════════╗\n");
-        };
+        });
     }
 }
@@ -0,0 +1,25 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+
+@Configuration
+public class JacksonConfig {
+    
+    // Spring Boot installs Module beans into its ObjectMapper, so every JSON envelope, page and
+    // timestamp goes through the hand-written serializers; the binary formats override all three
+    @Bean
+    public Module responseSerializersModule() {
+        SimpleModule module = new SimpleModule("blog-response-serializers");
+        module.addSerializer(ApiResponse.class, ApiResponseSerializer.JSON);
+        module.addSerializer(Page.class, PageSerializer.JSON);
+        module.addSerializer(LocalDateTime.class, TimestampSerializer.INSTANCE);
+        return module;
+    }
+}
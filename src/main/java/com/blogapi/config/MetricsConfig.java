@@ -0,0 +1,17 @@
+package com.blogapi.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    
+    // Enables @Timed on the service classes; HTTP endpoints and repository calls are timed by
+    // Spring Boot as http.server.requests and spring.data.repository.invocations
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,114 @@
+package com.blogapi.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Page} without bean introspection over {@code PageImpl}, its {@code Pageable}
+ * and {@code Sort}. The JSON form keeps every field and value that bean serialization wrote, in
+ * the order it used at runtime, so clients see no difference. The lean form, used by the binary formats, keeps only the
+ * content and the counts.
+ */
+@SuppressWarnings("rawtypes")
+public final class PageSerializer extends StdSerializer<Page> {
+    
+    public static final PageSerializer JSON = new PageSerializer(false);
+    public static final PageSerializer LEAN = new PageSerializer(true);
+    
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString PAGEABLE = new SerializedString("pageable");
+    private static final SerializableString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializableString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializableString SORT = new SerializedString("sort");
+    private static final SerializableString EMPTY = new SerializedString("empty");
+    private static final SerializableString SORTED = new SerializedString("sorted");
+    private static final SerializableString UNSORTED = new SerializedString("unsorted");
+    private static final SerializableString OFFSET = new SerializedString("offset");
+    private static final SerializableString PAGED = new SerializedString("paged");
+    private static final SerializableString UNPAGED = new SerializedString("unpaged");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString LAST = new SerializedString("last");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+    private static final SerializableString FIRST = new SerializedString("first");
+    
+    private final boolean lean;
+    
+    private PageSerializer(boolean lean) {
+        super(Page.class);
+        this.lean = lean;
+    }
+    
+    @Override
+    public void serialize(Page page, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(page);
+        generator.writeFieldName(CONTENT);
+        provider.defaultSerializeValue(page.getContent(), generator);
+        if (lean) {
+            writeNumber(NUMBER, page.getNumber(), generator);
+            writeNumber(SIZE, page.getSize(), generator);
+            writeNumber(TOTAL_ELEMENTS, page.getTotalElements(), generator);
+            writeNumber(TOTAL_PAGES, page.getTotalPages(), generator);
+        } else {
+            writeJson(page, generator, provider);
+        }
+        generator.writeEndObject();
+    }
+    
+    private static void writeJson(Page page, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        Pageable pageable = page.getPageable();
+        generator.writeFieldName(PAGEABLE);
+        if (pageable.isPaged()) {
+            generator.writeStartObject();
+            writeNumber(PAGE_NUMBER, pageable.getPageNumber(), generator);
+            writeNumber(PAGE_SIZE, pageable.getPageSize(), generator);
+            writeSort(pageable.getSort(), generator);
+            writeNumber(OFFSET, pageable.getOffset(), generator);
+            writeBoolean(PAGED, true, generator);
+            writeBoolean(UNPAGED, false, generator);
+            generator.writeEndObject();
+        } else {
+            // Unpaged has no page number or size; leave it to its default serialization
+            provider.defaultSerializeValue(pageable, generator);
+        }
+        writeNumber(TOTAL_ELEMENTS, page.getTotalElements(), generator);
+        writeNumber(TOTAL_PAGES, page.getTotalPages(), generator);
+        writeBoolean(LAST, page.isLast(), generator);
+        writeNumber(SIZE, page.getSize(), generator);
+        writeNumber(NUMBER, page.getNumber(), generator);
+        writeSort(page.getSort(), generator);
+        writeNumber(NUMBER_OF_ELEMENTS, page.getNumberOfElements(), generator);
+        writeBoolean(FIRST, page.isFirst(), generator);
+        writeBoolean(EMPTY, page.isEmpty(), generator);
+    }
+    
+    private static void writeSort(Sort sort, JsonGenerator generator) throws IOException {
+        boolean sorted = sort.isSorted();
+        generator.writeFieldName(SORT);
+        generator.writeStartObject();
+        writeBoolean(EMPTY, !sorted, generator);
+        writeBoolean(SORTED, sorted, generator);
+        writeBoolean(UNSORTED, !sorted, generator);
+        generator.writeEndObject();
+    }
+    
+    private static void writeNumber(SerializableString name, long value, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+    
+    private static void writeBoolean(SerializableString name, boolean value, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeBoolean(value);
+    }
+}
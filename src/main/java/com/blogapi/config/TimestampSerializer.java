@@ -0,0 +1,70 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ResponseClock;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Fast path for the {@code yyyy-MM-dd'T'HH:mm:ss} pattern that every DTO timestamp uses. The
+ * digits are written straight into a char buffer, where {@code DateTimeFormatter} would allocate
+ * a print context, a builder and a string per field. Properties with any other format, or none,
+ * keep Jackson's own {@link LocalDateTimeSerializer}.
+ */
+public final class TimestampSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+    
+    public static final TimestampSerializer INSTANCE = new TimestampSerializer();
+    
+    static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+    
+    private TimestampSerializer() {
+        super(LocalDateTime.class);
+    }
+    
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && PATTERN.equals(format.getPattern())) {
+            return this;
+        }
+        return LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+    }
+    
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(ResponseClock.FORMAT.format(value));
+            return;
+        }
+        char[] text = new char[19];
+        digits(text, 0, year, 4);
+        text[4] = '-';
+        digits(text, 5, value.getMonthValue(), 2);
+        text[7] = '-';
+        digits(text, 8, value.getDayOfMonth(), 2);
+        text[10] = 'T';
+        digits(text, 11, value.getHour(), 2);
+        text[13] = ':';
+        digits(text, 14, value.getMinute(), 2);
+        text[16] = ':';
+        digits(text, 17, value.getSecond(), 2);
+        generator.writeString(text, 0, text.length);
+    }
+    
+    private static void digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
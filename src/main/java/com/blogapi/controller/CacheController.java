@@ -0,0 +1,36 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.CacheStatsResponse;
+import com.blogapi.service.CacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Response Cache Statistics APIs")
+@Slf4j
+public class CacheController {
+    
+    private final CacheService cacheService;
+    
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Retrieve hit, miss and eviction counters of the response caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        log.info("Fetching cache statistics");
+        return ResponseEntity.ok(
+                ApiResponse.success("Cache statistics retrieved successfully", cacheService.getCacheStats())
+        );
+    }
+}
@@ -1,8 +1,10 @@
 package com.blogapi.controller;
 
+import com.blogapi.config.BinaryFormatConfig;
 import com.blogapi.model.dto.ApiResponse;
 import com.blogapi.model.dto.CategoryRequest;
 import com.blogapi.model.dto.CategoryResponse;
+import com.blogapi.model.projection.Watermark;
 import com.blogapi.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,9 +14,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -31,22 +36,31 @@ public class CategoryController {
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieve all blog categories with pagination")
     public ResponseEntity<ApiResponse<Page<CategoryResponse>>> getAllCategories(
-            @PageableDefault(size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "name", direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
         log.info("Fetching all categories");
+        if (request.checkNotModified(categoryService.getCategoriesWatermark().etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
         Page<CategoryResponse> categories = categoryService.getAllCategories(pageable);
-        return ResponseEntity.ok(
-                ApiResponse.success("Categories retrieved successfully", categories)
-        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Categories retrieved successfully", categories));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieve a specific category by its ID")
-    public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id, WebRequest request) {
         log.info("Fetching category with id: {}", id);
+        // A single category changes only with its updatedAt, so If-Modified-Since is exact here
+        Watermark watermark = categoryService.getCategoryWatermark(id);
+        if (request.checkNotModified(watermark.etag(BinaryFormatConfig.representation(request)), watermark.lastModifiedMillis())) {
+            return null;
+        }
         CategoryResponse category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(
-                ApiResponse.success("Category retrieved successfully", category)
-        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Category retrieved successfully", category));
     }
     
     @PostMapping
@@ -61,15 +75,18 @@ public class CategoryController {
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Update category", description = "Update an existing category")
+    @Operation(summary = "Update category",
+            description = "Update an existing category; send If-Match with the category's ETag to get 412 instead of overwriting a concurrent change")
     public ResponseEntity<ApiResponse<CategoryResponse>> updateCategory(
             @PathVariable Long id,
-            @Valid @RequestBody CategoryRequest categoryRequest) {
+            @Valid @RequestBody CategoryRequest categoryRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
         log.info("Updating category with id: {}", id);
-        CategoryResponse updatedCategory = categoryService.updateCategory(id, categoryRequest);
-        return ResponseEntity.ok(
-                ApiResponse.success("Category updated successfully", updatedCategory)
-        );
+        CategoryResponse updatedCategory = categoryService.updateCategory(id, categoryRequest, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(categoryService.getCategoryWatermark(id).etag(BinaryFormatConfig.representation(request)))
+                .body(ApiResponse.success("Category updated successfully", updatedCategory));
     }
     
     @DeleteMapping("/{id}")
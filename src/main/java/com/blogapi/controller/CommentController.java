@@ -1,21 +1,32 @@
 package com.blogapi.controller;
 
+import com.blogapi.config.BinaryFormatConfig;
+import com.blogapi.ingest.CommentIngestionService;
 import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.BulkResponse;
 import com.blogapi.model.dto.CommentRequest;
 import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.CursorPage;
+import com.blogapi.service.BulkImportService;
 import com.blogapi.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,56 +36,132 @@ import java.util.List;
 public class CommentController {
     
     private final CommentService commentService;
+    private final BulkImportService bulkImportService;
+    // Present only with blog.comments.ingest.enabled=true
+    private final CommentIngestionService commentIngestionService;
     
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, BulkImportService bulkImportService,
+                             ObjectProvider<CommentIngestionService> commentIngestionService) {
         this.commentService = commentService;
+        this.bulkImportService = bulkImportService;
+        this.commentIngestionService = commentIngestionService.getIfAvailable();
     }
     
     @GetMapping
     @Operation(summary = "Get comments by post ID", description = "Retrieve all comments for a specific blog post")
     public ResponseEntity<ApiResponse<Page<CommentResponse>>> getCommentsByPostId(
             @PathVariable Long postId,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
         log.info("Fetching comments for post: {}", postId);
+        if (request.checkNotModified(commentService.getCommentsWatermark(postId, false).etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
         Page<CommentResponse> comments = commentService.getCommentsByPostIdWithPagination(postId, pageable);
-        return ResponseEntity.ok(
-                ApiResponse.success("Comments retrieved successfully", comments)
-        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Comments retrieved successfully", comments));
+    }
+    
+    @GetMapping("/cursor")
+    @Operation(summary = "Get comments by cursor",
+            description = "Retrieve comments for a blog post newest first using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<CommentResponse>>> getCommentsByCursor(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        log.info("Fetching comments by cursor for post: {}", postId);
+        if (request.checkNotModified(commentService.getCommentsWatermark(postId, false).etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
+        CursorPage<CommentResponse> comments = commentService.getCommentsByPostIdWithCursor(postId, cursor, size);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Comments retrieved successfully", comments));
     }
     
     @GetMapping("/approved")
     @Operation(summary = "Get approved comments", description = "Retrieve approved comments for a specific blog post")
-    public ResponseEntity<ApiResponse<List<CommentResponse>>> getApprovedComments(@PathVariable Long postId) {
+    public ResponseEntity<ApiResponse<List<CommentResponse>>> getApprovedComments(@PathVariable Long postId,
+                                                                                 WebRequest request) {
         log.info("Fetching approved comments for post: {}", postId);
+        if (request.checkNotModified(commentService.getCommentsWatermark(postId, true).etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
         List<CommentResponse> comments = commentService.getApprovedCommentsByPostId(postId);
-        return ResponseEntity.ok(
-                ApiResponse.success("Approved comments retrieved successfully", comments)
-        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Approved comments retrieved successfully", comments));
+    }
+    
+    @GetMapping("/{commentId}")
+    @Operation(summary = "Get comment by ID", description = "Retrieve a single comment; its ETag is the If-Match value for updates")
+    public ResponseEntity<ApiResponse<CommentResponse>> getCommentById(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            WebRequest request) {
+        log.info("Fetching comment: {} for post: {}", commentId, postId);
+        if (request.checkNotModified(commentService.getCommentWatermark(commentId).etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
+        CommentResponse comment = commentService.getCommentById(commentId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Comment retrieved successfully", comment));
     }
     
     @PostMapping
-    @Operation(summary = "Add comment to post", description = "Add a new comment to a blog post")
+    @Operation(summary = "Add comment to post",
+            description = "Add a new comment to a blog post; with write-behind ingestion enabled the comment is queued and answered with 202")
     public ResponseEntity<ApiResponse<CommentResponse>> addComment(
             @PathVariable Long postId,
             @Valid @RequestBody CommentRequest commentRequest) {
         log.info("Adding comment to post: {}", postId);
+        if (commentIngestionService != null) {
+            CommentResponse queuedComment = commentIngestionService.enqueue(postId, commentRequest);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    ApiResponse.accepted("Comment accepted and queued for writing", queuedComment)
+            );
+        }
         CommentResponse comment = commentService.addCommentToPost(postId, commentRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 ApiResponse.created("Comment added successfully", comment)
         );
     }
     
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Add comments in bulk",
+            description = "Add many comments to a blog post from a JSON array; each item is validated and reported individually")
+    public ResponseEntity<ApiResponse<BulkResponse>> addCommentsInBulk(
+            @PathVariable Long postId,
+            @RequestBody List<CommentRequest> commentRequests) {
+        log.info("Adding {} comments in bulk to post: {}", commentRequests.size(), postId);
+        return bulkResult(bulkImportService.importComments(postId, commentRequests.iterator()));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import comments from NDJSON",
+            description = "Stream one JSON comment per line for a blog post; the body is read incrementally")
+    public ResponseEntity<ApiResponse<BulkResponse>> importComments(@PathVariable Long postId, InputStream ndjson) {
+        log.info("Importing comments from NDJSON stream for post: {}", postId);
+        return bulkResult(bulkImportService.importComments(postId, ndjson));
+    }
+    
     @PutMapping("/{commentId}")
-    @Operation(summary = "Update comment", description = "Update an existing comment")
+    @Operation(summary = "Update comment",
+            description = "Update an existing comment; send If-Match with the comment's ETag to get 412 instead of overwriting a concurrent change")
     public ResponseEntity<ApiResponse<CommentResponse>> updateComment(
             @PathVariable Long postId,
             @PathVariable Long commentId,
-            @Valid @RequestBody CommentRequest commentRequest) {
+            @Valid @RequestBody CommentRequest commentRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
         log.info("Updating comment: {} for post: {}", commentId, postId);
-        CommentResponse updatedComment = commentService.updateComment(commentId, commentRequest);
-        return ResponseEntity.ok(
-                ApiResponse.success("Comment updated successfully", updatedComment)
-        );
+        CommentResponse updatedComment = commentService.updateComment(commentId, commentRequest, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(commentService.getCommentWatermark(commentId).etag(BinaryFormatConfig.representation(request)))
+                .body(ApiResponse.success("Comment updated successfully", updatedComment));
     }
     
     @DeleteMapping("/{commentId}")
@@ -88,26 +175,43 @@ public class CommentController {
     }
     
     @PutMapping("/{commentId}/approve")
-    @Operation(summary = "Approve comment", description = "Approve a pending comment for moderation")
+    @Operation(summary = "Approve comment",
+            description = "Approve a pending comment for moderation; approving twice is a no-op unless If-Match names a stale ETag")
     public ResponseEntity<ApiResponse<CommentResponse>> approveComment(
             @PathVariable Long postId,
-            @PathVariable Long commentId) {
+            @PathVariable Long commentId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
         log.info("Approving comment: {} for post: {}", commentId, postId);
-        CommentResponse approvedComment = commentService.approveComment(commentId);
-        return ResponseEntity.ok(
-                ApiResponse.success("Comment approved successfully", approvedComment)
-        );
+        CommentResponse approvedComment = commentService.approveComment(commentId, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(commentService.getCommentWatermark(commentId).etag(BinaryFormatConfig.representation(request)))
+                .body(ApiResponse.success("Comment approved successfully", approvedComment));
     }
     
     @PutMapping("/{commentId}/reject")
-    @Operation(summary = "Reject comment", description = "Reject/unapprove a comment")
+    @Operation(summary = "Reject comment",
+            description = "Reject/unapprove a comment; rejecting twice is a no-op unless If-Match names a stale ETag")
     public ResponseEntity<ApiResponse<CommentResponse>> rejectComment(
             @PathVariable Long postId,
-            @PathVariable Long commentId) {
+            @PathVariable Long commentId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
         log.info("Rejecting comment: {} for post: {}", commentId, postId);
-        CommentResponse rejectedComment = commentService.rejectComment(commentId);
+        CommentResponse rejectedComment = commentService.rejectComment(commentId, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(commentService.getCommentWatermark(commentId).etag(BinaryFormatConfig.representation(request)))
+                .body(ApiResponse.success("Comment rejected successfully", rejectedComment));
+    }
+    
+    private static ResponseEntity<ApiResponse<BulkResponse>> bulkResult(BulkResponse result) {
+        if (result.getFailed() == 0) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(
+                    ApiResponse.created("Comments imported successfully", result)
+            );
+        }
         return ResponseEntity.ok(
-                ApiResponse.success("Comment rejected successfully", rejectedComment)
+                ApiResponse.success("Comments imported with " + result.getFailed() + " failed items", result)
         );
     }
 }
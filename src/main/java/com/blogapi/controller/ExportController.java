@@ -0,0 +1,67 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.dto.ExportFormat;
+import com.blogapi.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Streaming Data Export APIs")
+@Slf4j
+public class ExportController {
+    
+    private final ExportService exportService;
+    
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+    
+    @GetMapping("/posts")
+    @Operation(summary = "Export posts", description = "Stream all posts with their category names as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Exporting posts");
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportService.validateRange(from, to);
+        return attachment("posts", exportFormat,
+                output -> exportService.exportPosts(categoryId, from, to, exportFormat, output));
+    }
+    
+    @GetMapping("/comments")
+    @Operation(summary = "Export comments", description = "Stream all comments as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Exporting comments");
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportService.validateRange(from, to);
+        return attachment("comments", exportFormat,
+                output -> exportService.exportComments(categoryId, from, to, exportFormat, output));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,67 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.CursorPage;
+import com.blogapi.model.dto.ModerationRequest;
+import com.blogapi.model.dto.ModerationResponse;
+import com.blogapi.model.projection.PendingComment;
+import com.blogapi.service.CommentService;
+import com.blogapi.service.ModerationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Moderation", description = "Bulk Comment Moderation APIs")
+@Slf4j
+public class ModerationController {
+    
+    private final ModerationService moderationService;
+    private final CommentService commentService;
+    
+    public ModerationController(ModerationService moderationService, CommentService commentService) {
+        this.moderationService = moderationService;
+        this.commentService = commentService;
+    }
+    
+    @GetMapping("/comments/pending")
+    @Operation(summary = "Get pending comments",
+            description = "Moderation queue across all posts, oldest first, using keyset pagination; pass the returned nextCursor to continue")
+    public ResponseEntity<ApiResponse<CursorPage<PendingComment>>> getPendingComments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching pending comments");
+        CursorPage<PendingComment> comments = commentService.getPendingComments(cursor, size);
+        return ResponseEntity.ok(
+                ApiResponse.success("Pending comments retrieved successfully", comments)
+        );
+    }
+    
+    @PostMapping("/moderation/comments/approve")
+    @Operation(summary = "Approve comments in bulk",
+            description = "Approve comments selected by id list or by postId/author/createdBefore filters; reports how many changed")
+    public ResponseEntity<ApiResponse<ModerationResponse>> approveComments(
+            @Valid @RequestBody ModerationRequest moderationRequest) {
+        log.info("Bulk approving comments");
+        ModerationResponse result = moderationService.approveComments(moderationRequest);
+        return ResponseEntity.ok(
+                ApiResponse.success(result.getUpdated() + " comments approved", result)
+        );
+    }
+    
+    @PostMapping("/moderation/comments/reject")
+    @Operation(summary = "Reject comments in bulk",
+            description = "Reject comments selected by id list or by postId/author/createdBefore filters; reports how many changed")
+    public ResponseEntity<ApiResponse<ModerationResponse>> rejectComments(
+            @Valid @RequestBody ModerationRequest moderationRequest) {
+        log.info("Bulk rejecting comments");
+        ModerationResponse result = moderationService.rejectComments(moderationRequest);
+        return ResponseEntity.ok(
+                ApiResponse.success(result.getUpdated() + " comments rejected", result)
+        );
+    }
+}
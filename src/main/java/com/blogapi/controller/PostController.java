@@ -1,9 +1,16 @@
 package com.blogapi.controller;
 
+import com.blogapi.config.BinaryFormatConfig;
 import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.BulkResponse;
+import com.blogapi.model.dto.CursorPage;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.service.BulkImportService;
+import com.blogapi.service.ExportService;
 import com.blogapi.service.PostService;
+import com.blogapi.trending.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,10 +19,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,30 +38,81 @@ import java.util.List;
 public class PostController {
     
     private final PostService postService;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
+    private final TrendingService trendingService;
     
-    public PostController(PostService postService) {
+    public PostController(PostService postService, BulkImportService bulkImportService,
+                          ExportService exportService, TrendingService trendingService) {
         this.postService = postService;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
+        this.trendingService = trendingService;
     }
     
     @GetMapping
     @Operation(summary = "Get all posts", description = "Retrieve all blog posts with pagination and sorting")
     public ResponseEntity<ApiResponse<Page<PostResponse>>> getAllPosts(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "" + PostService.FULL_CONTENT) int excerptLength,
+            WebRequest request) {
         log.info("Fetching all posts");
-        Page<PostResponse> posts = postService.getAllPosts(pageable);
-        return ResponseEntity.ok(
-                ApiResponse.success("Posts retrieved successfully", posts)
-        );
+        if (request.checkNotModified(postService.getPostsWatermark().etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
+        Page<PostResponse> posts = postService.getAllPosts(pageable, excerptLength);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Posts retrieved successfully", posts));
+    }
+    
+    @GetMapping("/cursor")
+    @Operation(summary = "Get posts by cursor",
+            description = "Retrieve blog posts newest first using keyset pagination; pass the returned nextCursor to fetch the next slice")
+    public ResponseEntity<ApiResponse<CursorPage<PostResponse>>> getPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "" + PostService.FULL_CONTENT) int excerptLength,
+            WebRequest request) {
+        log.info("Fetching posts by cursor");
+        if (request.checkNotModified(postService.getPostsWatermark().etag(BinaryFormatConfig.representation(request)))) {
+            return null;
+        }
+        CursorPage<PostResponse> posts = postService.getPostsByCursor(cursor, size, excerptLength);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Posts retrieved successfully", posts));
+    }
+    
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending posts",
+            description = "Posts ranked by recent views and comments, with older activity decaying away; served from memory and refreshed every few seconds")
+    public ResponseEntity<ApiResponse<List<TrendingPostResponse>>> getTrendingPosts(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Fetching top {} trending posts", limit);
+        List<TrendingPostResponse> posts = trendingService.getTrendingPosts(limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(trendingService.getRefreshInterval()))
+                .body(ApiResponse.success("Trending posts retrieved successfully", posts));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get post by ID", description = "Retrieve a specific blog post by its ID")
-    public ResponseEntity<ApiResponse<PostResponse>> getPostById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PostResponse>> getPostById(@PathVariable Long id, WebRequest request) {
         log.info("Fetching post with id: {}", id);
+        // 304 straight from the metadata query; comment counters move counters_version rather than
+        // updatedAt, so posts are validated by ETag only
+        String etag = postService.getPostWatermark(id).etag(BinaryFormatConfig.representation(request));
+        // Recorded here rather than in PostService.getPostById, whose cache hits never run its body;
+        // revalidations are views too
+        trendingService.recordView(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         PostResponse post = postService.getPostById(id);
-        return ResponseEntity.ok(
-                ApiResponse.success("Post retrieved successfully", post)
-        );
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Post retrieved successfully", post));
     }
     
     @PostMapping
@@ -61,16 +125,35 @@ public class PostController {
         );
     }
     
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create posts in bulk",
+            description = "Create many blog posts from a JSON array; each item is validated and reported individually")
+    public ResponseEntity<ApiResponse<BulkResponse>> createPostsInBulk(@RequestBody List<PostRequest> postRequests) {
+        log.info("Creating {} posts in bulk", postRequests.size());
+        return bulkResult(bulkImportService.importPosts(postRequests.iterator()));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import posts from NDJSON",
+            description = "Stream one JSON post per line; the body is read incrementally, so imports of any size are supported")
+    public ResponseEntity<ApiResponse<BulkResponse>> importPosts(InputStream ndjson) {
+        log.info("Importing posts from NDJSON stream");
+        return bulkResult(bulkImportService.importPosts(ndjson));
+    }
+    
     @PutMapping("/{id}")
-    @Operation(summary = "Update post", description = "Update an existing blog post")
+    @Operation(summary = "Update post",
+            description = "Update an existing blog post; send If-Match with the post's ETag to get 412 instead of overwriting a concurrent change")
     public ResponseEntity<ApiResponse<PostResponse>> updatePost(
             @PathVariable Long id,
-            @Valid @RequestBody PostRequest postRequest) {
+            @Valid @RequestBody PostRequest postRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest request) {
         log.info("Updating post with id: {}", id);
-        PostResponse updatedPost = postService.updatePost(id, postRequest);
-        return ResponseEntity.ok(
-                ApiResponse.success("Post updated successfully", updatedPost)
-        );
+        PostResponse updatedPost = postService.updatePost(id, postRequest, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(postService.getPostWatermark(id).etag(BinaryFormatConfig.representation(request)))
+                .body(ApiResponse.success("Post updated successfully", updatedPost));
     }
     
     @DeleteMapping("/{id}")
@@ -82,24 +165,54 @@ public class PostController {
     }
     
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "Get posts by category", description = "Retrieve all posts in a specific category")
-    public ResponseEntity<ApiResponse<List<PostResponse>>> getPostsByCategory(@PathVariable Long categoryId) {
+    @Operation(summary = "Get posts by category",
+            description = "Retrieve posts in a specific category newest first using keyset pagination; pass the returned nextCursor to fetch the next slice")
+    public ResponseEntity<ApiResponse<CursorPage<PostResponse>>> getPostsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "" + PostService.FULL_CONTENT) int excerptLength) {
         log.info("Fetching posts for category: {}", categoryId);
-        List<PostResponse> posts = postService.getPostsByCategory(categoryId);
+        CursorPage<PostResponse> posts = postService.getPostsByCategory(categoryId, cursor, size, excerptLength);
         return ResponseEntity.ok(
                 ApiResponse.success("Posts retrieved successfully", posts)
         );
     }
     
+    @GetMapping("/category/{categoryId}/stream")
+    @Operation(summary = "Stream posts by category",
+            description = "Stream every post in a specific category as NDJSON, newest first; rows are read from a database cursor, so categories of any size are supported")
+    public ResponseEntity<StreamingResponseBody> streamPostsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "" + PostService.FULL_CONTENT) int excerptLength) {
+        log.info("Streaming posts for category: {}", categoryId);
+        postService.validateCategoryListing(categoryId, excerptLength);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> exportService.exportPostsByCategory(categoryId, excerptLength, output));
+    }
+    
     @GetMapping("/search")
-    @Operation(summary = "Search posts", description = "Search blog posts by title or content")
+    @Operation(summary = "Search posts", description = "Full-text search over post titles and content, ranked by relevance")
     public ResponseEntity<ApiResponse<Page<PostResponse>>> searchPosts(
             @RequestParam String searchTerm,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "" + PostService.FULL_CONTENT) int excerptLength) {
         log.info("Searching posts with term: {}", searchTerm);
-        Page<PostResponse> posts = postService.searchPosts(searchTerm, pageable);
+        Page<PostResponse> posts = postService.searchPosts(searchTerm, pageable, excerptLength);
         return ResponseEntity.ok(
                 ApiResponse.success("Posts found", posts)
         );
     }
+    
+    private static ResponseEntity<ApiResponse<BulkResponse>> bulkResult(BulkResponse result) {
+        if (result.getFailed() == 0) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(
+                    ApiResponse.created("Posts imported successfully", result)
+            );
+        }
+        return ResponseEntity.ok(
+                ApiResponse.success("Posts imported with " + result.getFailed() + " failed items", result)
+        );
+    }
 }
@@ -0,0 +1,44 @@
+package com.blogapi.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread's reads to the primary. Set by {@code ReadYourWritesFilter} for requests
+ * from clients that wrote recently, so they never read a replica that hasn't caught up yet.
+ */
+public final class ReadYourWrites {
+    
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    
+    private ReadYourWrites() {
+    }
+    
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+    
+    public static void unpin() {
+        PINNED.remove();
+    }
+    
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+    
+    /**
+     * Runs {@code read} pinned to the primary, for reads whose result is cached. The cache is checked
+     * before any connection is taken, so a row a lagging replica hasn't updated yet would otherwise
+     * be served to every client, including the writer, until the entry expires.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPinned()) {
+            return read.get();
+        }
+        pin();
+        try {
+            return read.get();
+        } finally {
+            unpin();
+        }
+    }
+}
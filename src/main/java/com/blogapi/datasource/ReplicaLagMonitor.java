@@ -0,0 +1,33 @@
+package com.blogapi.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the replica lag seen by {@link ReplicaRoutingDataSource} current and publishes it as
+ * {@code blog.datasource.replica.lag}; -1 means unreachable or not measured yet.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+    
+    private final ReplicaRoutingDataSource routingDataSource;
+    
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        routingDataSource.getReplicas().forEach(replica ->
+                Gauge.builder("blog.datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagMillis)
+                        .description("Replay lag of a read replica behind the primary")
+                        .baseUnit("milliseconds")
+                        .tag("replica", replica.getName())
+                        .register(meterRegistry));
+    }
+    
+    @Scheduled(fixedDelayString = "${blog.datasource.replicas.lag-check-interval-ms:1000}")
+    public void refreshReplicaLag() {
+        routingDataSource.refreshReplicaLag();
+    }
+}
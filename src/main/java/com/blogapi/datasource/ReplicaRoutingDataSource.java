@@ -0,0 +1,140 @@
+package com.blogapi.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the connection is then fetched on the first statement,
+ * after the transaction's read-only flag is known, instead of when the transaction begins.
+ * <p>
+ * Replicas are used round-robin while their last measured lag is within {@code maxLag}. A replica
+ * that lags, can't be reached or hasn't been measured yet is skipped; with none left, reads fall
+ * back to the primary. Threads pinned by {@link ReadYourWrites} always use the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    String lagQuery, Duration maxLag) {
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        
+        List<Replica> replicaList = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            replicaList.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        this.replicas = Collections.unmodifiableList(replicaList);
+        
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable(maxLagMillis)) {
+                return replica.getName();
+            }
+        }
+        log.debug("No replica within {}ms lag, reading from the primary", maxLagMillis);
+        return PRIMARY;
+    }
+    
+    /**
+     * Measures every replica with the lag query, which returns the replay delay in seconds.
+     */
+    public void refreshReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                resultSet.next();
+                replica.lagMillis = Math.round(resultSet.getDouble(1) * 1000);
+                if (replica.lagMillis > maxLagMillis) {
+                    log.warn("Replica {} lags {}ms behind the primary, routing its reads to the primary",
+                            replica.getName(), replica.lagMillis);
+                }
+            } catch (SQLException ex) {
+                replica.lagMillis = Replica.UNKNOWN_LAG;
+                log.warn("Replica {} is unreachable: {}", replica.getName(), ex.getMessage());
+            }
+        }
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    // Replica pools are created alongside this data source rather than as beans, so they close with it
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    public static class Replica {
+        
+        static final long UNKNOWN_LAG = -1;
+        
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = UNKNOWN_LAG;
+        
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+        
+        // Last measured lag, or -1 before the first successful check and while unreachable
+        public long getLagMillis() {
+            return lagMillis;
+        }
+        
+        boolean isAvailable(long maxLagMillis) {
+            long lag = lagMillis;
+            return lag != UNKNOWN_LAG && lag <= maxLagMillis;
+        }
+    }
+}
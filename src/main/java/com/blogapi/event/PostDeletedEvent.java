@@ -0,0 +1,9 @@
+package com.blogapi.event;
+
+import lombok.Value;
+
+@Value
+public class PostDeletedEvent {
+    
+    Long postId;
+}
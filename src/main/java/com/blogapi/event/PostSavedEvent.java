@@ -0,0 +1,14 @@
+package com.blogapi.event;
+
+import lombok.Value;
+
+/**
+ * Published when a post is created or updated; listeners that mirror post data react after commit.
+ */
+@Value
+public class PostSavedEvent {
+    
+    Long postId;
+    String title;
+    String content;
+}
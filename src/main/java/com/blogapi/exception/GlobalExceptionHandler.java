@@ -1,7 +1,12 @@
 package com.blogapi.exception;
 
 import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.ResponseClock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,7 +15,6 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,18 +22,40 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
     
+    static final String ERRORS_METRIC = "blog.api.errors";
+    
+    private final Counter notFoundErrors;
+    private final Counter validationErrors;
+    private final Counter illegalArgumentErrors;
+    private final Counter preconditionErrors;
+    private final Counter busyErrors;
+    private final Counter unexpectedErrors;
+    
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.notFoundErrors = errorCounter(meterRegistry, "not_found");
+        this.validationErrors = errorCounter(meterRegistry, "validation");
+        this.illegalArgumentErrors = errorCounter(meterRegistry, "illegal_argument");
+        this.preconditionErrors = errorCounter(meterRegistry, "precondition_failed");
+        this.busyErrors = errorCounter(meterRegistry, "busy");
+        this.unexpectedErrors = errorCounter(meterRegistry, "unexpected");
+    }
+    
+    private static Counter errorCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder(ERRORS_METRIC)
+                .description("Requests answered with an error by GlobalExceptionHandler")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ApiResponse<Void>> handleResourceNotFoundException(
             ResourceNotFoundException ex) {
         log.error("Resource not found: {}", ex.getMessage());
+        notFoundErrors.increment();
         
-        ApiResponse<Void> response = ApiResponse.<Void>builder()
-                .status(HttpStatus.NOT_FOUND.value())
-                .message("Resource Not Found")
-                .error(ex.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.NOT_FOUND.value(), "Resource Not Found",
+                ex.getMessage());
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
@@ -39,6 +65,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationException(
             MethodArgumentNotValidException ex) {
         log.error("Validation error occurred");
+        validationErrors.increment();
         
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
@@ -51,7 +78,7 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .message("Validation Failed")
                 .data(errors)
-                .timestamp(LocalDateTime.now())
+                .timestamp(ResponseClock.now())
                 .build();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
@@ -62,17 +89,44 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgumentException(
             IllegalArgumentException ex) {
         log.error("Illegal argument: {}", ex.getMessage());
+        illegalArgumentErrors.increment();
         
-        ApiResponse<Void> response = ApiResponse.<Void>builder()
-                .status(HttpStatus.BAD_REQUEST.value())
-                .message("Invalid Argument")
-                .error(ex.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "Invalid Argument",
+                ex.getMessage());
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
     
+    // If-Match did not match, or a concurrent writer bumped @Version between our read and the UPDATE
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailedException(RuntimeException ex) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        preconditionErrors.increment();
+        
+        String error = ex instanceof PreconditionFailedException
+                ? ex.getMessage()
+                : "The resource was modified concurrently; fetch it again and retry";
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.PRECONDITION_FAILED.value(), "Precondition Failed", error);
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+    
+    // Back-pressure from a full queue; the client should retry shortly
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusyException(ServiceBusyException ex) {
+        log.warn("Service busy: {}", ex.getMessage());
+        busyErrors.increment();
+        
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+    
     // handle missing static resources (e.g. favicon requests) gracefully
     @ExceptionHandler(org.springframework.web.servlet.resource.NoResourceFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -80,12 +134,8 @@ public class GlobalExceptionHandler {
             org.springframework.web.servlet.resource.NoResourceFoundException ex) {
         log.warn("Static resource not found: {}", ex.getMessage());
 
-        ApiResponse<Void> response = ApiResponse.<Void>builder()
-                .status(HttpStatus.NOT_FOUND.value())
-                .message("Resource Not Found")
-                .error("Static resource missing")
-                .timestamp(LocalDateTime.now())
-                .build();
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.NOT_FOUND.value(), "Resource Not Found",
+                "Static resource missing");
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
@@ -94,13 +144,10 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ApiResponse<Void>> handleGlobalException(Exception ex) {
         log.error("An unexpected error occurred", ex);
+        unexpectedErrors.increment();
         
-        ApiResponse<Void> response = ApiResponse.<Void>builder()
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .message("Internal Server Error")
-                .error(ex.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+        ApiResponse<Void> response = ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error",
+                ex.getMessage());
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
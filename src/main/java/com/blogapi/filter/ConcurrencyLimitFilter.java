@@ -0,0 +1,126 @@
+package com.blogapi.filter;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in flight. With virtual threads Tomcat no longer limits
+ * concurrency through its worker pool, so without this every burst would queue on the Hikari
+ * pool until connection timeouts fire. Requests that can't get a permit within the acquire
+ * timeout are rejected with 503 and a {@code Retry-After} header instead.
+ * <p>
+ * Streamed responses (exports, category streams) are still writing when the handler returns, so
+ * their permit is held until the async request completes, times out or fails.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.concurrency.limit-enabled", havingValue = "true")
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+    
+    public ConcurrencyLimitFilter(@Value("${blog.concurrency.max-in-flight}") int maxInFlight,
+                                  @Value("${blog.concurrency.acquire-timeout-ms}") long acquireTimeoutMs,
+                                  ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.objectMapper = objectMapper;
+        log.info("Limiting API requests to {} in flight", maxInFlight);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            reject(response);
+            return;
+        }
+        Permit permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+    
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private void reject(HttpServletResponse response) throws IOException {
+        log.warn("Rejecting request after waiting {}ms for a permit", acquireTimeoutMs);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", "Server is busy, please retry shortly"));
+    }
+    
+    // Released at most once: a timeout or an error is followed by onComplete
+    private final class Permit implements AsyncListener {
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+        
+        // Listeners are dropped when async processing restarts, so register again
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
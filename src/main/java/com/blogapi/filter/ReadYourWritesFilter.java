@@ -0,0 +1,88 @@
+package com.blogapi.filter;
+
+import com.blogapi.datasource.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for replica routing. A write marks the client with a cookie holding the time
+ * until which its reads stay on the primary; the window should exceed the replicas' max lag, so a
+ * client that just created a post or comment never reads a replica that hasn't replayed it yet.
+ * Other clients keep reading from the replicas.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    static final String COOKIE_NAME = "blog-read-primary-until";
+    
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    
+    private final Duration window;
+    
+    public ReadYourWritesFilter(@Value("${blog.datasource.replicas.read-your-writes-ms}") long windowMs) {
+        this.window = Duration.ofMillis(windowMs);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Set before the chain runs; the cookie can't be added once the body is committed
+            stickToPrimary(response);
+            ReadYourWrites.pin();
+        } else if (isSticky(request)) {
+            ReadYourWrites.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.unpin();
+        }
+    }
+    
+    private void stickToPrimary(HttpServletResponse response) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                .path("/api")
+                .maxAge(window.plusSeconds(1).toSeconds())
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+    }
+    
+    private static boolean isSticky(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.blogapi.ingest;
+
+import com.blogapi.model.entity.Comment;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserves comment ids from the same pooled sequence generator Hibernate uses for {@link Comment},
+ * so queued comments never collide with comments persisted through JPA. Only one in
+ * {@code allocationSize} calls touches the database.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.ingest.enabled", havingValue = "true")
+public class CommentIdAllocator {
+    
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+    
+    public CommentIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Comment.class)
+                .getGenerator();
+    }
+    
+    public long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.blogapi.ingest;
+
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.exception.ServiceBusyException;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.service.CacheService;
+import com.blogapi.trending.TrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind ingestion of new comments for comment storms on hot posts. A request only
+ * reserves an id, appends the comment to the {@link CommentJournal} and puts it on a bounded
+ * queue. It then gets 202 without holding a connection. A scheduled writer drains the queue
+ * and inserts the comments with batched JDBC statements, {@code batch-size} per transaction,
+ * then bumps each post's counters once per batch.
+ * <p>
+ * A full queue answers 503 with {@code Retry-After}, so a burst degrades into client retries
+ * rather than unbounded memory. A failed flush keeps its batch and retries it on the next run,
+ * and the queue fills meanwhile. Journal segments left by a crash are replayed on startup; the
+ * reserved ids make the replay idempotent.
+ */
+@Service
+@ConditionalOnProperty(name = "blog.comments.ingest.enabled", havingValue = "true")
+@Slf4j
+public class CommentIngestionService {
+    
+    static final String INSERT_SQL = "INSERT INTO comments (id, content, author, post_id, approved, version, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, FALSE, 0, ?, ?)";
+    
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CacheService cacheService;
+    private final CommentIdAllocator idAllocator;
+    private final TrendingService trendingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<QueuedComment> queue;
+    private final Path journalDirectory;
+    private final boolean journalFsync;
+    private final int batchSize;
+    // Positive lookups only: a storm on one post checks it once per minute instead of once per comment
+    private final Cache<Long, Boolean> knownPosts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+    // Journal appends and rotations must see the same order as the queue
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    
+    private CommentJournal journal;
+    private volatile Batch inFlight;
+    
+    public CommentIngestionService(PostRepository postRepository,
+                                   CommentRepository commentRepository,
+                                   CacheService cacheService,
+                                   CommentIdAllocator idAllocator,
+                                   TrendingService trendingService,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${blog.comments.ingest.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${blog.comments.ingest.batch-size:500}") int batchSize,
+                                   @Value("${blog.comments.ingest.journal-directory}") String journalDirectory,
+                                   @Value("${blog.comments.ingest.journal-fsync:false}") boolean journalFsync) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.cacheService = cacheService;
+        this.idAllocator = idAllocator;
+        this.trendingService = trendingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.journalFsync = journalFsync;
+        this.acceptedCounter = ingestCounter(meterRegistry, "accepted");
+        this.rejectedCounter = ingestCounter(meterRegistry, "rejected");
+        this.writtenCounter = ingestCounter(meterRegistry, "written");
+        this.droppedCounter = ingestCounter(meterRegistry, "dropped");
+        Gauge.builder("blog.comments.ingest.queue.depth", this, CommentIngestionService::getDepth)
+                .description("Accepted comments not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("blog.comments.ingest.queue.capacity", queue, BlockingQueue::remainingCapacity)
+                .description("Comments the ingestion queue can still accept before answering 503")
+                .register(meterRegistry);
+    }
+    
+    private static Counter ingestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("blog.comments.ingest")
+                .description("Comments handled by write-behind ingestion")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void open() throws IOException {
+        log.info("Opening comment journal at {}", journalDirectory.toAbsolutePath());
+        journal = new CommentJournal(journalDirectory, objectMapper, journalFsync);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        journal.close();
+    }
+    
+    public CommentResponse enqueue(Long postId, CommentRequest commentRequest) {
+        log.info("Queueing comment for post: {}", postId);
+        requirePost(postId);
+        if (queue.remainingCapacity() == 0) {
+            throw reject();
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        QueuedComment comment = new QueuedComment(idAllocator.next(), postId,
+                commentRequest.getContent(), commentRequest.getAuthor(), now);
+        appendLock.lock();
+        try {
+            if (queue.remainingCapacity() == 0) {
+                throw reject();
+            }
+            journal.append(comment);
+            queue.add(comment);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to journal comment " + comment.getId(), ex);
+        } finally {
+            appendLock.unlock();
+        }
+        acceptedCounter.increment();
+        trendingService.recordComment(postId);
+        
+        return CommentResponse.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .author(comment.getAuthor())
+                .postId(postId)
+                .approved(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+    
+    @Scheduled(fixedDelayString = "${blog.comments.ingest.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (inFlight == null) {
+                inFlight = takeBatch();
+            }
+            if (inFlight != null) {
+                write(inFlight.comments());
+                journal.delete(inFlight.segment());
+                inFlight = null;
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Writing {} queued comments failed, retrying on the next flush: {}",
+                    inFlight.comments().size(), ex.getMessage());
+        } catch (IOException ex) {
+            log.error("Comment journal I/O failed during flush", ex);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        flushLock.lock();
+        try {
+            for (Path segment : journal.closedSegments()) {
+                List<QueuedComment> comments = journal.read(segment);
+                log.info("Replaying {} journaled comments from {}", comments.size(), segment.getFileName());
+                write(comments);
+                journal.delete(segment);
+            }
+        } catch (IOException | DataAccessException ex) {
+            log.error("Comment journal replay failed; remaining segments are retried on the next start", ex);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    public int getDepth() {
+        Batch batch = inFlight;
+        return queue.size() + (batch == null ? 0 : batch.comments().size());
+    }
+    
+    private void requirePost(Long postId) {
+        if (knownPosts.getIfPresent(postId) == null) {
+            if (!postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Post not found with id: " + postId);
+            }
+            knownPosts.put(postId, Boolean.TRUE);
+        }
+    }
+    
+    private ServiceBusyException reject() {
+        rejectedCounter.increment();
+        return new ServiceBusyException("Comment queue is full, please retry shortly");
+    }
+    
+    // Under the append lock the queue holds exactly the active segment's comments, so both are
+    // handed over together
+    private Batch takeBatch() throws IOException {
+        appendLock.lock();
+        try {
+            if (queue.isEmpty()) {
+                return null;
+            }
+            Path segment = journal.rotate();
+            List<QueuedComment> comments = new ArrayList<>(queue.size());
+            queue.drainTo(comments);
+            return new Batch(segment, comments);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    private void write(List<QueuedComment> comments) {
+        for (int from = 0; from < comments.size(); from += batchSize) {
+            List<QueuedComment> chunk = comments.subList(from, Math.min(from + batchSize, comments.size()));
+            try {
+                record(transactionTemplate.execute(status -> writeChunk(chunk)));
+            } catch (DataIntegrityViolationException ex) {
+                // One bad row must not wedge the queue: retry the chunk row by row and drop the rejects
+                log.warn("Batch of {} comments rejected, writing them one by one: {}", chunk.size(), ex.getMessage());
+                for (QueuedComment comment : chunk) {
+                    try {
+                        record(transactionTemplate.execute(status -> writeChunk(List.of(comment))));
+                    } catch (DataIntegrityViolationException rowEx) {
+                        log.error("Dropping queued comment {} for post {}: {}",
+                                comment.getId(), comment.getPostId(), rowEx.getMessage());
+                        droppedCounter.increment();
+                    }
+                }
+            }
+        }
+    }
+    
+    private ChunkResult writeChunk(List<QueuedComment> chunk) {
+        Set<Long> livePosts = new HashSet<>(postRepository.findIdsByIdIn(
+                chunk.stream().map(QueuedComment::getPostId).collect(Collectors.toSet())));
+        // Present after a crash between commit and segment deletion
+        Set<Long> written = new HashSet<>(commentRepository.findIdsByIdIn(
+                chunk.stream().map(QueuedComment::getId).toList()));
+        
+        List<QueuedComment> rows = new ArrayList<>(chunk.size());
+        int dropped = 0;
+        for (QueuedComment comment : chunk) {
+            if (!livePosts.contains(comment.getPostId())) {
+                log.warn("Dropping queued comment {}: post {} was deleted", comment.getId(), comment.getPostId());
+                dropped++;
+            } else if (!written.contains(comment.getId())) {
+                rows.add(comment);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, dropped);
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, comment) -> {
+            ps.setLong(1, comment.getId());
+            ps.setString(2, comment.getContent());
+            ps.setString(3, comment.getAuthor());
+            ps.setLong(4, comment.getPostId());
+            ps.setObject(5, comment.getCreatedAt());
+            ps.setObject(6, comment.getCreatedAt());
+        });
+        
+        Map<Long, Long> perPost = rows.stream()
+                .collect(Collectors.groupingBy(QueuedComment::getPostId, Collectors.counting()));
+        perPost.forEach((postId, count) -> postRepository.adjustCommentCounts(postId, count, 0));
+        postRepository.incrementListVersion();
+        cacheService.evictPosts(perPost.keySet());
+        log.debug("Wrote {} queued comments across {} posts", rows.size(), perPost.size());
+        return new ChunkResult(rows.size(), dropped);
+    }
+    
+    // Counted after commit, so a rolled-back chunk that is retried row by row isn't counted twice
+    private void record(ChunkResult result) {
+        writtenCounter.increment(result.written());
+        droppedCounter.increment(result.dropped());
+    }
+    
+    private record ChunkResult(int written, int dropped) {
+    }
+    
+    private record Batch(Path segment, List<QueuedComment> comments) {
+    }
+}
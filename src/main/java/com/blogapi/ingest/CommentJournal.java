@@ -0,0 +1,134 @@
+package com.blogapi.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only NDJSON log of accepted comments that are not in the database yet. Appends go to the
+ * active segment. Taking a batch rotates the segment, and the closed segment is deleted once the
+ * batch is committed. Segments left on disk at startup therefore hold exactly the comments a
+ * crash kept from being written.
+ * <p>
+ * Appends reach the OS before the client gets its 202, so they survive a JVM crash; with
+ * {@code fsync} they are also forced to the device and survive a power loss. Not thread-safe:
+ * callers serialize appends and rotations.
+ */
+@Slf4j
+class CommentJournal implements Closeable {
+    
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".ndjson";
+    
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final boolean fsync;
+    
+    private long nextSegment;
+    private Path activePath;
+    private FileChannel active;
+    
+    CommentJournal(Path directory, ObjectMapper objectMapper, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.writer = objectMapper.writerFor(QueuedComment.class);
+        this.reader = objectMapper.readerFor(QueuedComment.class);
+        this.fsync = fsync;
+        
+        Files.createDirectories(directory);
+        List<Path> existing = segments();
+        this.nextSegment = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+        openSegment();
+    }
+    
+    void append(QueuedComment comment) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((writer.writeValueAsString(comment) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            active.write(line);
+        }
+        if (fsync) {
+            active.force(false);
+        }
+    }
+    
+    /**
+     * Closes the active segment and starts a new one; returns the closed segment.
+     */
+    Path rotate() throws IOException {
+        Path closed = activePath;
+        active.close();
+        openSegment();
+        return closed;
+    }
+    
+    /**
+     * Segments other than the active one, oldest first.
+     */
+    List<Path> closedSegments() throws IOException {
+        List<Path> segments = segments();
+        segments.remove(activePath);
+        return segments;
+    }
+    
+    List<QueuedComment> read(Path segment) throws IOException {
+        List<QueuedComment> comments = new ArrayList<>();
+        try (BufferedReader lines = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    comments.add(reader.readValue(line));
+                } catch (JsonProcessingException ex) {
+                    // Only the last line of a segment can be torn by a crash mid-append
+                    log.warn("Skipping unreadable journal line in {}: {}", segment.getFileName(), ex.getOriginalMessage());
+                }
+            }
+        }
+        return comments;
+    }
+    
+    void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        active.close();
+    }
+    
+    private void openSegment() throws IOException {
+        activePath = directory.resolve(String.format("%s%019d%s", PREFIX, nextSegment++, SUFFIX));
+        active = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+    
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+    
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
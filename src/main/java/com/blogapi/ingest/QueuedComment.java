@@ -0,0 +1,24 @@
+package com.blogapi.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A validated comment waiting for the write-behind flush; also the journal's line format.
+ * The id is reserved from the comments sequence up front, so it is final from the moment the
+ * client gets its 202.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueuedComment {
+    
+    private Long id;
+    private Long postId;
+    private String content;
+    private String author;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,87 @@
+package com.blogapi.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes each event as one line of JSON with the timestamp, level, thread, logger, message, MDC
+ * and stack trace, for log shippers that would otherwise parse the text pattern back apart.
+ * Logback's own {@code JsonEncoder} repeats every context property on each line, which would
+ * more than double the bytes written per event.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+    
+    private static final JsonFactory FACTORY = new JsonFactory();
+    
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString LEVEL = new SerializedString("level");
+    private static final SerializableString THREAD = new SerializedString("thread");
+    private static final SerializableString LOGGER = new SerializedString("logger");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString MDC = new SerializedString("mdc");
+    private static final SerializableString STACK_TRACE = new SerializedString("stackTrace");
+    
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+    
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeFieldName(TIMESTAMP);
+            generator.writeString(Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            generator.writeFieldName(LEVEL);
+            generator.writeString(event.getLevel().toString());
+            generator.writeFieldName(THREAD);
+            generator.writeString(event.getThreadName());
+            generator.writeFieldName(LOGGER);
+            generator.writeString(event.getLoggerName());
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(event.getFormattedMessage());
+            writeMdc(event.getMDCPropertyMap(), generator);
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                generator.writeFieldName(STACK_TRACE);
+                generator.writeString(ThrowableProxyUtil.asString(throwable));
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // The buffer is in memory, so this only happens on a bug in the generator
+            throw new UncheckedIOException(e);
+        }
+        buffer.append('\n');
+        return buffer.toByteArray();
+    }
+    
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+    
+    private static void writeMdc(Map<String, String> mdc, JsonGenerator generator) throws IOException {
+        if (mdc == null || mdc.isEmpty()) {
+            return;
+        }
+        generator.writeFieldName(MDC);
+        generator.writeStartObject();
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+}
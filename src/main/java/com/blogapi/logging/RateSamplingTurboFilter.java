@@ -0,0 +1,113 @@
+package com.blogapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code maxPerSecond} events through per second for each message template of the
+ * configured loggers, so hot-path lines such as "Fetching post with id: {}" cost a map lookup
+ * instead of formatting and I/O once the budget for the second is used. WARN and ERROR always
+ * pass, and a {@code maxPerSecond} of 0 turns sampling off.
+ */
+public class RateSamplingTurboFilter extends TurboFilter {
+    
+    // Templates are nearly all literals; the cap keeps messages built by concatenation from
+    // growing a logger's windows without bound, and templates past it are never sampled
+    static final int MAX_TEMPLATES_PER_LOGGER = 256;
+    
+    private static final Map<String, Window> NOT_SAMPLED = Map.of();
+    
+    private final LongSupplier clock;
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<Logger, Map<String, Window>> windows = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+    private int maxPerSecond = 20;
+    
+    public RateSamplingTurboFilter() {
+        this(System::currentTimeMillis);
+    }
+    
+    RateSamplingTurboFilter(LongSupplier clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Adds a logger, or a parent such as {@code com.blogapi.service}, whose events are sampled.
+     */
+    public void addLogger(String name) {
+        loggers.add(name.trim());
+    }
+    
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+    
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check, and events below the logger's level are
+        // rejected right after this filter anyway; neither may use up the budget
+        if (format == null || maxPerSecond <= 0 || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Map<String, Window> templates = windows.computeIfAbsent(logger, this::templatesFor);
+        if (templates == NOT_SAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = templates.get(format);
+        if (window == null) {
+            if (templates.size() >= MAX_TEMPLATES_PER_LOGGER) {
+                return FilterReply.NEUTRAL;
+            }
+            window = templates.computeIfAbsent(format, key -> new Window());
+        }
+        if (window.tryAcquire(clock.getAsLong() / 1000, maxPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+    
+    private Map<String, Window> templatesFor(Logger logger) {
+        String name = logger.getName();
+        for (String sampled : loggers) {
+            if (name.equals(sampled) || (name.startsWith(sampled) && name.charAt(sampled.length()) == '.')) {
+                return new ConcurrentHashMap<>();
+            }
+        }
+        return NOT_SAMPLED;
+    }
+    
+    private static final class Window {
+        
+        private final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger count = new AtomicInteger();
+        
+        boolean tryAcquire(long now, int limit) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                // A racing thread may count against the old second just before the reset; that
+                // only lets one extra event through
+                count.set(0);
+            }
+            // Once the budget is used, a plain read keeps denied events from contending on the counter
+            return count.get() < limit && count.incrementAndGet() <= limit;
+        }
+    }
+}
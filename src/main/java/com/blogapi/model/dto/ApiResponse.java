@@ -8,6 +8,11 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Envelope of every JSON response. The factories skip the builder and share a per-second
+ * timestamp from {@link ResponseClock}; {@code ApiResponseSerializer} writes it without bean
+ * introspection.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,29 +28,18 @@ public class ApiResponse<T> {
     private LocalDateTime timestamp;
     
     public static <T> ApiResponse<T> success(String message, T data) {
-        return ApiResponse.<T>builder()
-                .status(200)
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(200, message, data, null, ResponseClock.now());
     }
     
     public static <T> ApiResponse<T> created(String message, T data) {
-        return ApiResponse.<T>builder()
-                .status(201)
-                .message(message)
-                .data(data)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(201, message, data, null, ResponseClock.now());
+    }
+    
+    public static <T> ApiResponse<T> accepted(String message, T data) {
+        return new ApiResponse<>(202, message, data, null, ResponseClock.now());
     }
     
     public static <T> ApiResponse<T> error(int status, String message, String error) {
-        return ApiResponse.<T>builder()
-                .status(status)
-                .message(message)
-                .error(error)
-                .timestamp(LocalDateTime.now())
-                .build();
+        return new ApiResponse<>(status, message, null, error, ResponseClock.now());
     }
 }
@@ -0,0 +1,46 @@
+package com.blogapi.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a bulk import, identified by its zero-based position in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+    
+    private int index;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+    
+    public static BulkItemResult created(int index, Long id) {
+        return BulkItemResult.builder()
+                .index(index)
+                .status(Status.CREATED)
+                .id(id)
+                .build();
+    }
+    
+    public static BulkItemResult failed(int index, List<String> errors) {
+        return BulkItemResult.builder()
+                .index(index)
+                .status(Status.FAILED)
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.blogapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResponse {
+    
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkItemResult> items;
+    
+    public static BulkResponse of(List<BulkItemResult> items) {
+        items.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        int created = (int) items.stream()
+                .filter(item -> item.getStatus() == BulkItemResult.Status.CREATED)
+                .count();
+        return BulkResponse.builder()
+                .total(items.size())
+                .created(created)
+                .failed(items.size() - created)
+                .items(items)
+                .build();
+    }
+}
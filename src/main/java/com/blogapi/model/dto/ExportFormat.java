@@ -0,0 +1,34 @@
+package com.blogapi.model.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+    CSV("text/csv", "csv");
+    
+    private final String mediaType;
+    private final String extension;
+    
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value + " (expected ndjson or csv)");
+    }
+}
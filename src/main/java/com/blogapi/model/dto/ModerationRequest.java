@@ -0,0 +1,38 @@
+package com.blogapi.model.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects comments for bulk moderation, either by explicit ids or by filters. Filters combine
+ * with AND; at least one criterion is required so an empty body cannot moderate every comment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationRequest {
+    
+    @Size(max = 50000, message = "At most 50000 comment ids per request")
+    private List<Long> commentIds;
+    
+    private Long postId;
+    
+    private String author;
+    
+    private LocalDateTime createdBefore;
+    
+    public boolean hasCommentIds() {
+        return commentIds != null && !commentIds.isEmpty();
+    }
+    
+    public boolean hasFilters() {
+        return postId != null || author != null || createdBefore != null;
+    }
+}
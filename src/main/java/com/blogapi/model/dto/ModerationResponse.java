@@ -0,0 +1,19 @@
+package com.blogapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationResponse {
+    
+    private boolean approved;
+    // Comments whose state changed; comments already in the target state are not counted
+    private long updated;
+    private int postsAffected;
+    private int batches;
+}
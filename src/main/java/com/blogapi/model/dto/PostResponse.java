@@ -20,6 +20,8 @@ public class PostResponse {
     private String author;
     private Long categoryId;
     private String categoryName;
+    private Long commentCount;
+    private Long approvedCommentCount;
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
@@ -0,0 +1,58 @@
+package com.blogapi.model.dto;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamps for {@link ApiResponse}. Responses only carry whole seconds, so every response in the
+ * same second shares one {@link LocalDateTime} and one pre-encoded JSON string, instead of each
+ * calling {@code LocalDateTime.now()} and formatting the result again.
+ */
+public final class ResponseClock {
+    
+    public static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    private static volatile Tick tick = tick(currentSecond());
+    
+    private ResponseClock() {
+    }
+    
+    public static LocalDateTime now() {
+        long second = currentSecond();
+        Tick current = tick;
+        if (current.epochSecond != second) {
+            // Racing threads may each build a tick for the new second; they are equal, so any one wins
+            current = tick(second);
+            tick = current;
+        }
+        return current.time;
+    }
+    
+    /**
+     * The pre-encoded JSON string of a timestamp returned by {@link #now()} in the current second,
+     * or {@code null} for any other value, which the caller then formats itself.
+     */
+    public static SerializableString encoded(LocalDateTime timestamp) {
+        Tick current = tick;
+        return current.time == timestamp ? current.json : null;
+    }
+    
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+    
+    private static Tick tick(long epochSecond) {
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+        return new Tick(epochSecond, time, new SerializedString(FORMAT.format(time)));
+    }
+    
+    private record Tick(long epochSecond, LocalDateTime time, SerializableString json) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.blogapi.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingPostResponse {
+    
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String author;
+    private Long categoryId;
+    private String categoryName;
+    private Long commentCount;
+    // Time-decayed activity: view and comment weights, halved every half-life
+    private Double score;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Version of a whole collection, bumped in the same transaction as every write that changes it,
+ * so it is the collection's ETag without a scan. Rows are seeded by {@code import.sql} and
+ * {@code db/postgres/watermarks.sql}.
+ */
+@Entity
+@Table(name = "collection_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionVersion {
+    
+    public static final String POSTS = "posts";
+    
+    @Id
+    @Column(length = 50)
+    private String name;
+    
+    @Column(nullable = false)
+    private Long version;
+}
@@ -3,13 +3,17 @@ package com.blogapi.model.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_posts_category_created_at_id", columnList = "category_id, created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +21,8 @@ import java.util.List;
 public class Post {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Title cannot be blank")
@@ -38,10 +43,35 @@ public class Post {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Optimistic lock: entity updates run as UPDATE ... WHERE version = ?, and If-Match is checked against it
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
     
+    // Maintained by relative UPDATEs (PostRepository.adjustCommentCounts) and repaired by
+    // CommentCountReconciler; never written on entity updates, so a stale instance cannot undo them
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Long commentCount = 0L;
+    
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "approved_comment_count", nullable = false, updatable = false)
+    private Long approvedCommentCount = 0L;
+    
+    // Bumped with every counter UPDATE so the post's ETag follows the counters while updatedAt
+    // keeps meaning "post edited"
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "counters_version", nullable = false, updatable = false)
+    private Long countersVersion = 0L;
+    
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
     
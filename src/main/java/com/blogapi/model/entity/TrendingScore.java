@@ -0,0 +1,29 @@
+package com.blogapi.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpointed trending score of a post as of {@code scoredAt}; see {@code TrendingService}.
+ * No foreign key to posts: a deleted post's row decays and is dropped by a later checkpoint.
+ */
+@Entity
+@Table(name = "trending_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingScore {
+    
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+    
+    @Column(nullable = false)
+    private Double score;
+    
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
@@ -0,0 +1,25 @@
+package com.blogapi.model.projection;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export row built by a JPQL constructor expression, see {@link PostExportRow}.
+ */
+@Value
+public class CommentExportRow {
+    
+    Long id;
+    Long postId;
+    String content;
+    String author;
+    Boolean approved;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.blogapi.model.projection;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moderation queue row built by a JPQL constructor expression. Carries the post title for context
+ * but reads only the comment and post columns it needs, never the category.
+ */
+@Value
+public class PendingComment {
+    
+    Long id;
+    String content;
+    String author;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime createdAt;
+    
+    Long postId;
+    String postTitle;
+}
@@ -0,0 +1,27 @@
+package com.blogapi.model.projection;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export row built by a JPQL constructor expression. A plain class rather than an interface
+ * projection keeps per-row cost to one allocation on large exports.
+ */
+@Value
+public class PostExportRow {
+    
+    Long id;
+    String title;
+    String content;
+    String author;
+    Long categoryId;
+    String categoryName;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime updatedAt;
+}
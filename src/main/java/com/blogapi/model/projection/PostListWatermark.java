@@ -0,0 +1,29 @@
+package com.blogapi.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Watermark of the whole post listing: the posts entry of {@code collection_versions}, bumped in
+ * the transaction of every create, edit, delete, comment counter change and category rename. A
+ * counter moves on commit however the writers' clocks or commit order line up, which a
+ * {@code MAX(updated_at)} does not.
+ */
+public interface PostListWatermark extends Watermark {
+    
+    // Not read: counting the rows is the scan this watermark avoids
+    @Override
+    default Long getRowCount() {
+        return null;
+    }
+    
+    // Not read either; listings are validated by ETag only
+    @Override
+    default LocalDateTime getLastModified() {
+        return null;
+    }
+    
+    @Override
+    default Object[] fingerprint() {
+        return new Object[]{getVersion()};
+    }
+}
@@ -0,0 +1,13 @@
+package com.blogapi.model.projection;
+
+/**
+ * Fields of a post that feed the full-text index.
+ */
+public interface PostSearchDocument {
+    
+    Long getId();
+    
+    String getTitle();
+    
+    String getContent();
+}
@@ -0,0 +1,31 @@
+package com.blogapi.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Column subset a post listing needs. Selecting it instead of {@code Post} skips entity hydration;
+ * {@code excerpt} is the {@code content} column, truncated in the database when a listing asks for
+ * an excerpt length.
+ */
+public interface PostSummary {
+    
+    Long getId();
+    
+    String getTitle();
+    
+    String getExcerpt();
+    
+    String getAuthor();
+    
+    Long getCategoryId();
+    
+    String getCategoryName();
+    
+    Long getCommentCount();
+    
+    Long getApprovedCommentCount();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getUpdatedAt();
+}
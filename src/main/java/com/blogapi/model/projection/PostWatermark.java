@@ -0,0 +1,21 @@
+package com.blogapi.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Post watermark that also covers what a post response shows without touching
+ * {@code posts.updated_at} or {@code version}: the category name, through the category's
+ * {@code updated_at}, and the denormalized comment counters, through {@code counters_version}.
+ */
+public interface PostWatermark extends Watermark {
+    
+    LocalDateTime getCategoryLastModified();
+    
+    Long getCountersVersion();
+    
+    @Override
+    default Object[] fingerprint() {
+        return new Object[]{getRowCount(), getLastModified(), getVersion(), getCategoryLastModified(),
+                getCountersVersion()};
+    }
+}
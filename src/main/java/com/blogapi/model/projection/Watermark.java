@@ -0,0 +1,65 @@
+package com.blogapi.model.projection;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Change-detection metadata of a row or a collection, read with one aggregate query instead of
+ * loading entities. Any insert, update or delete changes the row count or the newest
+ * {@code updatedAt}, and with it the ETag.
+ */
+public interface Watermark {
+    
+    Long getRowCount();
+    
+    LocalDateTime getLastModified();
+    
+    // Highest @Version in the set; for a single row, the version an If-Match refers to
+    Long getVersion();
+    
+    default Object[] fingerprint() {
+        return new Object[]{getRowCount(), getLastModified(), getVersion()};
+    }
+    
+    // Epoch millis for Last-Modified, or -1 when the collection is empty
+    default long lastModifiedMillis() {
+        LocalDateTime lastModified = getLastModified();
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    default String etag() {
+        return DigestUtils.md5DigestAsHex(Arrays.toString(fingerprint()).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // JSON keeps the plain tag; CBOR and Smile bodies of the same state get tags of their own
+    default String etag(MediaType representation) {
+        String etag = etag();
+        return MediaType.APPLICATION_JSON.equalsTypeAndSubtype(representation)
+                ? etag
+                : etag + "-" + representation.getSubtype();
+    }
+    
+    /**
+     * Strong comparison against an If-Match header: true for {@code *} or when any listed tag
+     * equals the tag of this state in one of its representations, since an update cares which
+     * state the client read, not in which format. Weak tags never match.
+     */
+    default boolean matches(String ifMatch) {
+        String etag = etag();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.startsWith(etag + "-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,13 @@
 package com.blogapi.repository;
 
 import com.blogapi.model.entity.Category;
+import com.blogapi.model.projection.Watermark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +20,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
     boolean existsByName(String name);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(c.version) AS version " +
+           "FROM Category c WHERE c.id = :id")
+    Watermark findWatermarkById(@Param("id") Long id);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(c.version) AS version " +
+           "FROM Category c")
+    Watermark findWatermark();
+    
+    // Bypasses cascades; callers check that no posts reference the category first
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
 }
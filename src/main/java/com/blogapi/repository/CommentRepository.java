@@ -1,14 +1,28 @@
 package com.blogapi.repository;
 
 import com.blogapi.model.entity.Comment;
+import com.blogapi.model.projection.CommentExportRow;
+import com.blogapi.model.projection.PendingComment;
+import com.blogapi.model.projection.Watermark;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -27,4 +41,105 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     long countByPostId(Long postId);
     
     long countByPostIdAndApproved(Long postId, Boolean approved);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(c.version) AS version " +
+           "FROM Comment c WHERE c.id = :id")
+    Watermark findWatermarkById(@Param("id") Long id);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(c.version) AS version " +
+           "FROM Comment c WHERE c.post.id = :postId")
+    Watermark findWatermarkByPostId(@Param("postId") Long postId);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(c.version) AS version " +
+           "FROM Comment c WHERE c.post.id = :postId AND c.approved = true")
+    Watermark findApprovedWatermarkByPostId(@Param("postId") Long postId);
+    
+    /**
+     * Flips the moderation state in one statement. Matches only when the state actually changes and,
+     * if {@code version} is given, only that version, so concurrent moderators cannot both count a flip.
+     *
+     * @return 1 if the comment changed state, 0 if it is missing, already in that state or at another version
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Comment c SET c.approved = :approved, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id = :id AND c.approved <> :approved AND (:version IS NULL OR c.version = :version)")
+    int updateApproved(@Param("id") Long id,
+                       @Param("approved") boolean approved,
+                       @Param("version") Long version,
+                       @Param("now") LocalDateTime now);
+    
+    // Bulk moderation: each batch locks its targets, skipping comments already in the requested state
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Comment c WHERE c.id IN :ids AND c.approved <> :approved ORDER BY c.id")
+    List<Long> lockForModeration(@Param("ids") Collection<Long> ids, @Param("approved") boolean approved);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Comment c WHERE c.approved <> :approved AND c.id > :afterId " +
+           "AND (:postId IS NULL OR c.post.id = :postId) " +
+           "AND (:author IS NULL OR c.author = :author) " +
+           "AND (:createdBefore IS NULL OR c.createdAt < :createdBefore) " +
+           "ORDER BY c.id")
+    List<Long> lockForModerationAfter(@Param("approved") boolean approved,
+                                      @Param("afterId") long afterId,
+                                      @Param("postId") Long postId,
+                                      @Param("author") String author,
+                                      @Param("createdBefore") LocalDateTime createdBefore,
+                                      Limit limit);
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT c.post.id FROM Comment c WHERE c.id IN :ids")
+    List<Long> findPostIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Comment c SET c.approved = :approved, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids")
+    int updateApprovedIn(@Param("ids") Collection<Long> ids,
+                         @Param("approved") boolean approved,
+                         @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId")
+    int deleteByPostIdInBulk(@Param("postId") Long postId);
+    
+    // Serializes deletes of one comment so each removal adjusts the post counters once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Comment c WHERE c.id = :id")
+    Optional<Comment> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findFirstCommentsByCursor(@Param("postId") Long postId, Limit limit);
+    
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findCommentsBeforeCursor(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+    
+    // Moderation queue across all posts, oldest first; served by the (approved, created_at, id) index
+    @Query("SELECT new com.blogapi.model.projection.PendingComment(c.id, c.content, c.author, c.createdAt, " +
+           "p.id, p.title) FROM Comment c JOIN c.post p WHERE c.approved = false " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<PendingComment> findFirstPendingByCursor(Limit limit);
+    
+    @Query("SELECT new com.blogapi.model.projection.PendingComment(c.id, c.content, c.author, c.createdAt, " +
+           "p.id, p.title) FROM Comment c JOIN c.post p WHERE c.approved = false " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<PendingComment> findPendingAfterCursor(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.blogapi.model.projection.CommentExportRow(c.id, p.id, c.content, c.author, " +
+           "c.approved, c.createdAt, c.updatedAt) FROM Comment c JOIN c.post p " +
+           "WHERE (:categoryId IS NULL OR p.category.id = :categoryId) " +
+           "AND (:from IS NULL OR c.createdAt >= :from) AND (:to IS NULL OR c.createdAt < :to) " +
+           "ORDER BY c.id")
+    Stream<CommentExportRow> streamForExport(@Param("categoryId") Long categoryId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
 }
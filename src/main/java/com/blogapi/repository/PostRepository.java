@@ -1,31 +1,187 @@
 package com.blogapi.repository;
 
+import com.blogapi.model.entity.CollectionVersion;
 import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostExportRow;
+import com.blogapi.model.projection.PostListWatermark;
+import com.blogapi.model.projection.PostSearchDocument;
+import com.blogapi.model.projection.PostSummary;
+import com.blogapi.model.projection.PostWatermark;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
-    List<Post> findByCategoryId(Long categoryId);
+    // Listing columns only: the TEXT content is truncated in the database when an excerpt length is
+    // requested, and the category is joined once.
+    // Every post has a category, so the outer join returns the same rows; it keeps H2 from driving the
+    // unfiltered listings from the small categories table and sorting every post
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.title AS title, " +
+            "CASE WHEN :excerptLength > 0 THEN SUBSTRING(p.content, 1, :excerptLength) ELSE p.content END AS excerpt, " +
+            "p.author AS author, " +
+            "c.id AS categoryId, c.name AS categoryName, " +
+            "p.commentCount AS commentCount, p.approvedCommentCount AS approvedCommentCount, " +
+            "p.createdAt AS createdAt, p.updatedAt AS updatedAt " +
+            "FROM Post p LEFT JOIN p.category c ";
     
-    Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
+    String EXPORT_FETCH_SIZE = "500";
+    
+    String WATERMARK_SELECT = "SELECT COUNT(p) AS rowCount, MAX(p.updatedAt) AS lastModified, " +
+            "MAX(p.version) AS version, MAX(c.updatedAt) AS categoryLastModified, " +
+            "MAX(p.countersVersion) AS countersVersion " +
+            "FROM Post p JOIN p.category c ";
+    
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Post> findById(Long id);
     
     List<Post> findByAuthor(String author);
     
     Page<Post> findByAuthorContainingIgnoreCase(String author, Pageable pageable);
     
-    Page<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(
-            String title, String content, Pageable pageable);
+    long countByCategoryId(Long categoryId);
+    
+    boolean existsByCategoryId(Long categoryId);
     
-    @Query("SELECT p FROM Post p WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC")
-    List<Post> findLatestPostsByCategory(@Param("categoryId") Long categoryId);
+    // Bypasses cascades; callers remove the post's comments first
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
     
-    long countByCategoryId(Long categoryId);
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummary> findAllSummaries(@Param("excerptLength") int excerptLength, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids,
+                                          @Param("excerptLength") int excerptLength);
+    
+    @Query(WATERMARK_SELECT + "WHERE p.id = :id")
+    PostWatermark findWatermarkById(@Param("id") Long id);
+    
+    // One primary-key read; never scans posts
+    @Query("SELECT v.version AS version FROM CollectionVersion v WHERE v.name = '" + CollectionVersion.POSTS + "'")
+    PostListWatermark findWatermark();
+    
+    // Called in the transaction of every write that changes what a post listing shows
+    @Modifying
+    @Query("UPDATE CollectionVersion v SET v.version = v.version + 1 WHERE v.name = '" + CollectionVersion.POSTS + "'")
+    int incrementListVersion();
+    
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findFirstSummariesByCursor(@Param("excerptLength") int excerptLength, Limit limit);
+    
+    @Query(SUMMARY_SELECT +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesBeforeCursor(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                @Param("excerptLength") int excerptLength,
+                                                Limit limit);
+    
+    @Query("SELECT p.id AS id, p.title AS title, p.content AS content FROM Post p " +
+           "WHERE p.id > :afterId ORDER BY p.id")
+    List<PostSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    // Rows are pulled from an open cursor EXPORT_FETCH_SIZE at a time; callers must close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.blogapi.model.projection.PostExportRow(p.id, p.title, p.content, p.author, " +
+           "c.id, c.name, p.createdAt, p.updatedAt) FROM Post p JOIN p.category c " +
+           "WHERE (:categoryId IS NULL OR c.id = :categoryId) " +
+           "AND (:from IS NULL OR p.createdAt >= :from) AND (:to IS NULL OR p.createdAt < :to) " +
+           "ORDER BY p.id")
+    Stream<PostExportRow> streamForExport(@Param("categoryId") Long categoryId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+    
+    // Category listings walk idx_posts_category_created_at_id: equality on category_id, then keyset order
+    @Query(SUMMARY_SELECT + "WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findFirstSummariesByCategory(@Param("categoryId") Long categoryId,
+                                                   @Param("excerptLength") int excerptLength,
+                                                   Limit limit);
+    
+    @Query(SUMMARY_SELECT +
+           "WHERE p.category.id = :categoryId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByCategoryBeforeCursor(@Param("categoryId") Long categoryId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id,
+                                                          @Param("excerptLength") int excerptLength,
+                                                          Limit limit);
+    
+    // Same order as the keyset pages, read through an open cursor; callers must close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    Stream<PostSummary> streamSummariesByCategory(@Param("categoryId") Long categoryId,
+                                                  @Param("excerptLength") int excerptLength);
+    
+    // Relative update, so concurrent comment changes on the same post never lose an increment.
+    // The counter updates below bump countersVersion, not updatedAt, which stays the time of the last edit
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :total, " +
+           "p.approvedCommentCount = p.approvedCommentCount + :approved, " +
+           "p.countersVersion = p.countersVersion + 1 WHERE p.id = :postId")
+    int adjustCommentCounts(@Param("postId") Long postId, @Param("total") long total, @Param("approved") long approved);
+    
+    // Set-based form for bulk moderation: moves each post's approved counter by sign * its comments among commentIds
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.approvedCommentCount = p.approvedCommentCount + :sign * " +
+           "(SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.id IN :commentIds), " +
+           "p.countersVersion = p.countersVersion + 1 " +
+           "WHERE p.id IN :postIds")
+    int adjustApprovedCommentCounts(@Param("postIds") Collection<Long> postIds,
+                                    @Param("commentIds") Collection<Long> commentIds,
+                                    @Param("sign") long sign);
+    
+    // Locked so a post found live cannot be deleted before the ingestion writer's comments commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Locked so the reconciler's recount cannot overwrite a counter change committed mid-statement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> lockIdsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    // Rewrites only the rows whose counters disagree with the comments table; returns how many
+    @Modifying
+    @Query("UPDATE Post p SET " +
+           "p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id), " +
+           "p.approvedCommentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.approved = true), " +
+           "p.countersVersion = p.countersVersion + 1 " +
+           "WHERE p.id IN :ids AND (" +
+           "p.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id) OR " +
+           "p.approvedCommentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.approved = true))")
+    int recountComments(@Param("ids") Collection<Long> ids);
+    
+    // PostgreSQL only: ranks against the generated search_vector column from db/postgres/search.sql
+    @Query(value = "SELECT p.id FROM posts p " +
+                   "WHERE p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "ORDER BY ts_rank(p.search_vector, websearch_to_tsquery('english', :query)) DESC, p.id DESC",
+           countQuery = "SELECT COUNT(*) FROM posts p " +
+                        "WHERE p.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    Page<Long> searchIdsByFullText(@Param("query") String query, Pageable pageable);
 }
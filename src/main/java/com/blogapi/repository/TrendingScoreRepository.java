@@ -0,0 +1,19 @@
+package com.blogapi.repository;
+
+import com.blogapi.model.entity.TrendingScore;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+    
+    // Locked so two instances' checkpoints merge into a row one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TrendingScore s")
+    List<TrendingScore> findAllForUpdate();
+}
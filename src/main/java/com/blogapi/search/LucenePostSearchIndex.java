@@ -0,0 +1,219 @@
+package com.blogapi.search;
+
+import com.blogapi.model.projection.PostSearchDocument;
+import com.blogapi.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index stored on local disk. Text is tokenized, lower-cased, stop-word filtered
+ * and Porter-stemmed by {@link EnglishAnalyzer}; matches in the title weigh twice as much as
+ * matches in the content.
+ *
+ * <p>Writes become searchable immediately through near-real-time readers and are committed to
+ * disk on a fixed interval. On startup the index is rebuilt from the database when its document
+ * count disagrees with the posts table, which covers both a lost index and unflushed commits.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "lucene", matchIfMissing = true)
+@Slf4j
+public class LucenePostSearchIndex implements PostSearchIndex {
+    
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final int REBUILD_BATCH_SIZE = 500;
+    
+    private final Path indexPath;
+    private final PostRepository postRepository;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    // A lock rather than synchronized methods, so virtual threads blocked on index I/O don't pin their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    
+    public LucenePostSearchIndex(@Value("${blog.search.lucene.directory}") String indexDirectory,
+                                 PostRepository postRepository) {
+        this.indexPath = Path.of(indexDirectory);
+        this.postRepository = postRepository;
+    }
+    
+    @PostConstruct
+    public void open() throws IOException {
+        log.info("Opening Lucene search index at {}", indexPath.toAbsolutePath());
+        directory = FSDirectory.open(indexPath);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+    
+    @Override
+    public void index(Long postId, String title, String content) {
+        writeLock.lock();
+        try {
+            writer.updateDocument(idTerm(postId), toDocument(postId, title, content));
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to index post " + postId, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public void delete(Long postId) {
+        writeLock.lock();
+        try {
+            writer.deleteDocuments(idTerm(postId));
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to remove post " + postId + " from index", ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        Query luceneQuery = parse(query);
+        if (luceneQuery == null) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+                TopDocs topDocs = searcher.search(luceneQuery, Math.max(limit, 1));
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(luceneQuery);
+                
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = (int) pageable.getOffset(); i < hits.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+                }
+                return new PageImpl<>(ids, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Search failed for query: " + query, ex);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${blog.search.lucene.commit-interval-ms:5000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() throws IOException {
+        long indexed = writer.getDocStats().numDocs;
+        long posts = postRepository.count();
+        if (indexed != posts) {
+            log.info("Search index holds {} documents but {} posts exist, rebuilding", indexed, posts);
+            rebuild();
+        }
+    }
+    
+    public void rebuild() throws IOException {
+        writeLock.lock();
+        try {
+            writer.deleteAll();
+            
+            long lastId = 0;
+            long indexed = 0;
+            List<PostSearchDocument> batch;
+            do {
+                batch = postRepository.findSearchDocumentsAfter(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                for (PostSearchDocument post : batch) {
+                    writer.addDocument(toDocument(post.getId(), post.getTitle(), post.getContent()));
+                    lastId = post.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Search index rebuilt with {} posts", indexed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private Query parse(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 2.0f, CONTENT, 1.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(query);
+    }
+    
+    private static Term idTerm(Long postId) {
+        return new Term(ID, postId.toString());
+    }
+    
+    private static Document toDocument(Long postId, String title, String content) {
+        Document document = new Document();
+        document.add(new StringField(ID, postId.toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, title, Field.Store.NO));
+        document.add(new TextField(CONTENT, content, Field.Store.NO));
+        return document;
+    }
+}
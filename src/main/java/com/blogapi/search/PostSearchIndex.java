@@ -0,0 +1,17 @@
+package com.blogapi.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text index over post titles and content. Implementations return matching post ids
+ * ordered by relevance; callers load the rows themselves.
+ */
+public interface PostSearchIndex {
+    
+    void index(Long postId, String title, String content);
+    
+    void delete(Long postId);
+    
+    Page<Long> search(String query, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.blogapi.search;
+
+import com.blogapi.event.PostDeletedEvent;
+import com.blogapi.event.PostSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the search index in step with committed post changes, so a rolled-back write never
+ * becomes searchable.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndexer {
+    
+    private final PostSearchIndex postSearchIndex;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        log.debug("Indexing post {}", event.getPostId());
+        postSearchIndex.index(event.getPostId(), event.getTitle(), event.getContent());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        log.debug("Removing post {} from search index", event.getPostId());
+        postSearchIndex.delete(event.getPostId());
+    }
+}
@@ -0,0 +1,45 @@
+package com.blogapi.search;
+
+import com.blogapi.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * PostgreSQL full-text backend. The {@code posts.search_vector} column is a generated
+ * {@code tsvector} with a GIN index (see {@code db/postgres/search.sql}), so the database keeps
+ * it current on every insert and update and there is nothing to maintain here.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresPostSearchIndex implements PostSearchIndex {
+    
+    private final PostRepository postRepository;
+    
+    @Override
+    public void index(Long postId, String title, String content) {
+        // Maintained by the generated column
+    }
+    
+    @Override
+    public void delete(Long postId) {
+        // Maintained by the generated column
+    }
+    
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        // Results are ranked by ts_rank, so any client sort is dropped
+        return postRepository.searchIdsByFullText(query,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+}
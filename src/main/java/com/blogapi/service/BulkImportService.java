@@ -0,0 +1,225 @@
+package com.blogapi.service;
+
+import com.blogapi.event.PostSavedEvent;
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.BulkItemResult;
+import com.blogapi.model.dto.BulkResponse;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports posts and comments in chunks of {@link #CHUNK_SIZE}. Each chunk is one transaction and
+ * one batched JDBC insert (see the pooled sequences on the entities), so a failing chunk rolls back
+ * only its own items. Items are validated individually and every item gets a result.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("blog.service")
+@Slf4j
+public class BulkImportService {
+    
+    static final int CHUNK_SIZE = 500;
+    
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final CommentRepository commentRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CacheService cacheService;
+    
+    public BulkResponse importPosts(Iterator<PostRequest> requests) {
+        log.info("Importing posts in bulk");
+        Map<Long, Category> categories = new HashMap<>();
+        Set<Long> checkedCategoryIds = new HashSet<>();
+        BulkResponse response = importItems(requests, chunk -> writePosts(chunk, categories, checkedCategoryIds));
+        log.info("Bulk post import finished: {} created, {} failed", response.getCreated(), response.getFailed());
+        return response;
+    }
+    
+    public BulkResponse importPosts(InputStream ndjson) {
+        return importPosts(new NdjsonIterator<>(ndjson, objectMapper.readerFor(PostRequest.class)));
+    }
+    
+    public BulkResponse importComments(Long postId, Iterator<CommentRequest> requests) {
+        log.info("Importing comments in bulk for post: {}", postId);
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        BulkResponse response = importItems(requests, chunk -> writeComments(postId, chunk));
+        log.info("Bulk comment import for post {} finished: {} created, {} failed",
+                postId, response.getCreated(), response.getFailed());
+        return response;
+    }
+    
+    public BulkResponse importComments(Long postId, InputStream ndjson) {
+        return importComments(postId, new NdjsonIterator<>(ndjson, objectMapper.readerFor(CommentRequest.class)));
+    }
+    
+    private <T> BulkResponse importItems(Iterator<T> requests, Function<List<PendingItem<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<PendingItem<T>> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+        while (requests.hasNext()) {
+            T request;
+            try {
+                request = requests.next();
+            } catch (IllegalArgumentException ex) {
+                results.add(BulkItemResult.failed(index++, List.of(ex.getMessage())));
+                continue;
+            }
+            
+            List<String> errors = validate(request);
+            if (errors.isEmpty()) {
+                chunk.add(new PendingItem<>(index, request));
+            } else {
+                results.add(BulkItemResult.failed(index, errors));
+            }
+            index++;
+            
+            if (chunk.size() == CHUNK_SIZE) {
+                results.addAll(writeChunk(chunk, writer));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(chunk, writer));
+        }
+        return BulkResponse.of(results);
+    }
+    
+    private <T> List<BulkItemResult> writeChunk(List<PendingItem<T>> chunk,
+                                                Function<List<PendingItem<T>>, List<BulkItemResult>> writer) {
+        try {
+            return transactionTemplate.execute(status -> writer.apply(chunk));
+        } catch (DataAccessException ex) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            log.warn("Bulk import chunk of {} items rolled back: {}", chunk.size(), reason);
+            return chunk.stream()
+                    .map(item -> BulkItemResult.failed(item.getIndex(), List.of("Chunk rolled back: " + reason)))
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    private List<BulkItemResult> writePosts(List<PendingItem<PostRequest>> chunk,
+                                            Map<Long, Category> categories, Set<Long> checkedCategoryIds) {
+        // One lookup per chunk for the category IDs not seen in earlier chunks
+        Set<Long> unchecked = chunk.stream()
+                .map(item -> item.getRequest().getCategoryId())
+                .filter(id -> !checkedCategoryIds.contains(id))
+                .collect(Collectors.toSet());
+        if (!unchecked.isEmpty()) {
+            categoryRepository.findAllById(unchecked).forEach(category -> categories.put(category.getId(), category));
+            checkedCategoryIds.addAll(unchecked);
+        }
+        
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        List<PendingItem<PostRequest>> accepted = new ArrayList<>(chunk.size());
+        List<Post> posts = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (PendingItem<PostRequest> item : chunk) {
+            PostRequest request = item.getRequest();
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                results.add(BulkItemResult.failed(item.getIndex(),
+                        List.of("Category not found with id: " + request.getCategoryId())));
+                continue;
+            }
+            accepted.add(item);
+            posts.add(Post.builder()
+                    .title(request.getTitle())
+                    .content(request.getContent())
+                    .author(request.getAuthor())
+                    .category(category)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        
+        List<Post> savedPosts = postRepository.saveAll(posts);
+        postRepository.flush();
+        if (!savedPosts.isEmpty()) {
+            postRepository.incrementListVersion();
+        }
+        for (int i = 0; i < savedPosts.size(); i++) {
+            Post post = savedPosts.get(i);
+            eventPublisher.publishEvent(new PostSavedEvent(post.getId(), post.getTitle(), post.getContent()));
+            results.add(BulkItemResult.created(accepted.get(i).getIndex(), post.getId()));
+        }
+        return results;
+    }
+    
+    private List<BulkItemResult> writeComments(Long postId, List<PendingItem<CommentRequest>> chunk) {
+        Post post = postRepository.getReferenceById(postId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Comment> comments = chunk.stream()
+                .map(item -> Comment.builder()
+                        .content(item.getRequest().getContent())
+                        .author(item.getRequest().getAuthor())
+                        .post(post)
+                        .approved(false)  // Comments need moderation by default
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .collect(Collectors.toList());
+        
+        List<Comment> savedComments = commentRepository.saveAll(comments);
+        commentRepository.flush();
+        postRepository.adjustCommentCounts(postId, savedComments.size(), 0);
+        postRepository.incrementListVersion();
+        cacheService.evictPost(postId);
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < savedComments.size(); i++) {
+            results.add(BulkItemResult.created(chunk.get(i).getIndex(), savedComments.get(i).getId()));
+        }
+        return results;
+    }
+    
+    private <T> List<String> validate(T request) {
+        if (request == null) {
+            return List.of("Item is empty");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+    
+    @Value
+    private static class PendingItem<T> {
+        int index;
+        T request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blogapi.service;
+
+import com.blogapi.config.CacheNames;
+import com.blogapi.model.dto.CacheStatsResponse;
+import com.blogapi.model.dto.PostResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheService {
+    
+    private final CacheManager cacheManager;
+    
+    /**
+     * Drops cached posts whose denormalized {@code categoryName} belongs to the given category.
+     * Runs after commit, like the annotation-driven evictions, when called inside a transaction.
+     */
+    public void evictPostsInCategory(Long categoryId) {
+        afterCommit(() -> {
+            boolean evicted = nativeCache(CacheNames.POSTS).asMap().entrySet()
+                    .removeIf(entry -> entry.getValue() instanceof PostResponse post
+                            && categoryId.equals(post.getCategoryId()));
+            log.debug("Evicted cached posts of category {}: {}", categoryId, evicted);
+        });
+    }
+    
+    /**
+     * Drops one cached post, e.g. after its comment counters changed. Runs after commit when
+     * called inside a transaction.
+     */
+    public void evictPost(Long postId) {
+        afterCommit(() -> nativeCache(CacheNames.POSTS).invalidate(postId));
+    }
+    
+    public void evictPosts(Collection<Long> postIds) {
+        afterCommit(() -> nativeCache(CacheNames.POSTS).invalidateAll(postIds));
+    }
+    
+    public List<CacheStatsResponse> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::mapToStats)
+                .collect(Collectors.toList());
+    }
+    
+    private CacheStatsResponse mapToStats(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(name);
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
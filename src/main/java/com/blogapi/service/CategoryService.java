@@ -1,12 +1,19 @@
 package com.blogapi.service;
 
+import com.blogapi.config.CacheNames;
+import com.blogapi.datasource.ReadYourWrites;
 import com.blogapi.exception.ResourceNotFoundException;
 import com.blogapi.model.dto.CategoryRequest;
 import com.blogapi.model.dto.CategoryResponse;
 import com.blogapi.model.entity.Category;
+import com.blogapi.model.projection.Watermark;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,10 +24,13 @@ import java.time.LocalDateTime;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed("blog.service")
 @Slf4j
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final CacheService cacheService;
     
     @Transactional(readOnly = true)
     public Page<CategoryResponse> getAllCategories(Pageable pageable) {
@@ -30,13 +40,32 @@ public class CategoryService {
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "#id")
     public CategoryResponse getCategoryById(Long id) {
         log.info("Fetching category with id: {}", id);
-        Category category = categoryRepository.findById(id)
+        // Cached until evicted, so never from a replica that may not have replayed the last update
+        Category category = ReadYourWrites.onPrimary(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         return mapToResponse(category);
     }
     
+    // Metadata-only reads backing conditional GETs; no entity is loaded
+    @Transactional(readOnly = true)
+    public Watermark getCategoryWatermark(Long id) {
+        log.debug("Fetching watermark of category: {}", id);
+        Watermark watermark = categoryRepository.findWatermarkById(id);
+        if (watermark.getRowCount() == 0) {
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
+        return watermark;
+    }
+    
+    @Transactional(readOnly = true)
+    public Watermark getCategoriesWatermark() {
+        log.debug("Fetching watermark of all categories");
+        return categoryRepository.findWatermark();
+    }
+    
     public CategoryResponse createCategory(CategoryRequest categoryRequest) {
         log.info("Creating new category: {}", categoryRequest.getName());
         
@@ -57,15 +86,19 @@ public class CategoryService {
         return mapToResponse(savedCategory);
     }
     
-    public CategoryResponse updateCategory(Long id, CategoryRequest categoryRequest) {
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#id")
+    public CategoryResponse updateCategory(Long id, CategoryRequest categoryRequest, String ifMatch) {
         log.info("Updating category with id: {}", id);
         
+        Long expectedVersion = ifMatch == null ? null
+                : Preconditions.expectedVersion(getCategoryWatermark(id), ifMatch, "Category with id: " + id);
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        Preconditions.checkVersion(expectedVersion, category.getVersion(), "Category with id: " + id);
         
         // Check if new name already exists (excluding current category)
-        if (!category.getName().equals(categoryRequest.getName()) && 
-            categoryRepository.existsByName(categoryRequest.getName())) {
+        boolean renamed = !category.getName().equals(categoryRequest.getName());
+        if (renamed && categoryRepository.existsByName(categoryRequest.getName())) {
             throw new IllegalArgumentException("Category with name '" + categoryRequest.getName() + "' already exists");
         }
         
@@ -74,22 +107,27 @@ public class CategoryService {
         category.setUpdatedAt(LocalDateTime.now());
         
         Category updatedCategory = categoryRepository.save(category);
+        
+        // Cached posts and post listings carry the category name, so a rename makes them stale
+        if (renamed) {
+            postRepository.incrementListVersion();
+            cacheService.evictPostsInCategory(id);
+        }
         log.info("Category updated successfully with id: {}", updatedCategory.getId());
         return mapToResponse(updatedCategory);
     }
     
+    @CacheEvict(cacheNames = CacheNames.CATEGORIES, key = "#id")
     public void deleteCategory(Long id) {
         log.info("Deleting category with id: {}", id);
         
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
-        
-        // Check if category has posts
-        if (!category.getPosts().isEmpty()) {
+        // Bounded EXISTS instead of loading the posts collection
+        if (postRepository.existsByCategoryId(id)) {
             throw new IllegalArgumentException("Cannot delete category with existing posts. Delete all posts first.");
         }
-        
-        categoryRepository.deleteById(id);
+        if (categoryRepository.deleteByIdInBulk(id) == 0) {
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
         log.info("Category deleted successfully with id: {}", id);
     }
     
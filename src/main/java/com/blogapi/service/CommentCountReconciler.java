@@ -0,0 +1,81 @@
+package com.blogapi.service;
+
+import com.blogapi.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Repairs drift between the denormalized comment counters on {@code posts} and the comments
+ * table, e.g. after rows were changed outside the application. Posts are walked in id order,
+ * one batch per transaction. Each batch locks its post rows before recounting, so a concurrent
+ * comment change either commits first and is counted or waits and is applied on top.
+ */
+@Service
+@Slf4j
+public class CommentCountReconciler {
+    
+    private final PostRepository postRepository;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounter;
+    private final int batchSize;
+    
+    public CommentCountReconciler(PostRepository postRepository,
+                                  CacheService cacheService,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${blog.comments.reconcile-batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.cacheService = cacheService;
+        this.transactionTemplate = transactionTemplate;
+        this.repairedCounter = Counter.builder("blog.comments.counts.repaired")
+                .description("Posts whose comment counters were corrected by the reconciler")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+    
+    @Scheduled(initialDelayString = "${blog.comments.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${blog.comments.reconcile-interval-ms:3600000}")
+    public long reconcile() {
+        log.info("Reconciling post comment counters in batches of {}", batchSize);
+        long repaired = 0;
+        long afterId = 0;
+        while (true) {
+            BatchResult batch = reconcileBatch(afterId);
+            if (batch == null) {
+                break;
+            }
+            repaired += batch.repaired();
+            afterId = batch.lastId();
+        }
+        repairedCounter.increment(repaired);
+        log.info("Comment counter reconciliation finished: {} posts repaired", repaired);
+        return repaired;
+    }
+    
+    private BatchResult reconcileBatch(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = postRepository.lockIdsAfter(afterId, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int repaired = postRepository.recountComments(ids);
+            if (repaired > 0) {
+                postRepository.incrementListVersion();
+                ids.forEach(cacheService::evictPost);
+            }
+            return new BatchResult(ids.get(ids.size() - 1), repaired);
+        });
+    }
+    
+    private record BatchResult(long lastId, int repaired) {
+    }
+}
@@ -1,14 +1,21 @@
 package com.blogapi.service;
 
 import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.Cursor;
+import com.blogapi.model.dto.CursorPage;
 import com.blogapi.model.dto.CommentRequest;
 import com.blogapi.model.dto.CommentResponse;
 import com.blogapi.model.entity.Comment;
 import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PendingComment;
+import com.blogapi.model.projection.Watermark;
 import com.blogapi.repository.CommentRepository;
 import com.blogapi.repository.PostRepository;
+import com.blogapi.trending.TrendingService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,27 +23,28 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed("blog.service")
 @Slf4j
 public class CommentService {
     
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final CacheService cacheService;
+    private final TrendingService trendingService;
     
     @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByPostId(Long postId) {
         log.info("Fetching comments for post: {}", postId);
         
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
-        }
-        
-        return commentRepository.findByPostId(postId)
-                .stream()
+        List<Comment> comments = commentRepository.findByPostId(postId);
+        requirePostIfEmpty(comments.isEmpty(), postId);
+        return comments.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -45,28 +53,75 @@ public class CommentService {
     public Page<CommentResponse> getCommentsByPostIdWithPagination(Long postId, Pageable pageable) {
         log.info("Fetching comments for post with pagination: {}", postId);
         
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
-        }
-        
-        return commentRepository.findByPostId(postId, pageable)
-                .map(this::mapToResponse);
+        Page<Comment> comments = commentRepository.findByPostId(postId, pageable);
+        requirePostIfEmpty(comments.isEmpty(), postId);
+        return comments.map(this::mapToResponse);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getCommentsByPostIdWithCursor(Long postId, String cursor, int size) {
+        log.info("Fetching comments for post {} with cursor: {}", postId, cursor);
+        CursorPage.validateSize(size);
+        
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<Comment> comments = after == null
+                ? commentRepository.findFirstCommentsByCursor(postId, limit)
+                : commentRepository.findCommentsBeforeCursor(postId, after.getCreatedAt(), after.getId(), limit);
+        requirePostIfEmpty(comments.isEmpty(), postId);
+        
+        return CursorPage.of(comments, size, this::mapToResponse,
+                comment -> new Cursor(comment.getCreatedAt(), comment.getId()));
     }
     
     @Transactional(readOnly = true)
     public List<CommentResponse> getApprovedCommentsByPostId(Long postId) {
         log.info("Fetching approved comments for post: {}", postId);
         
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
-        }
-        
-        return commentRepository.findByPostIdAndApproved(postId, true)
-                .stream()
+        List<Comment> comments = commentRepository.findByPostIdAndApproved(postId, true);
+        requirePostIfEmpty(comments.isEmpty(), postId);
+        return comments.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<PendingComment> getPendingComments(String cursor, int size) {
+        log.info("Fetching pending comments with cursor: {}", cursor);
+        CursorPage.validateSize(size);
+        
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<PendingComment> comments = after == null
+                ? commentRepository.findFirstPendingByCursor(limit)
+                : commentRepository.findPendingAfterCursor(after.getCreatedAt(), after.getId(), limit);
+        
+        return CursorPage.of(comments, size, Function.identity(),
+                comment -> new Cursor(comment.getCreatedAt(), comment.getId()));
+    }
+    
+    // Metadata-only read backing conditional GETs of a post's comment listings
+    @Transactional(readOnly = true)
+    public Watermark getCommentsWatermark(Long postId, boolean approvedOnly) {
+        log.debug("Fetching watermark of comments for post: {}", postId);
+        
+        Watermark watermark = approvedOnly
+                ? commentRepository.findApprovedWatermarkByPostId(postId)
+                : commentRepository.findWatermarkByPostId(postId);
+        requirePostIfEmpty(watermark.getRowCount() == 0, postId);
+        return watermark;
+    }
+    
+    @Transactional(readOnly = true)
+    public Watermark getCommentWatermark(Long commentId) {
+        log.debug("Fetching watermark of comment: {}", commentId);
+        Watermark watermark = commentRepository.findWatermarkById(commentId);
+        if (watermark.getRowCount() == 0) {
+            throw new ResourceNotFoundException("Comment not found with id: " + commentId);
+        }
+        return watermark;
+    }
+    
     @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long commentId) {
         log.info("Fetching comment with id: {}", commentId);
@@ -91,15 +146,20 @@ public class CommentService {
                 .build();
         
         Comment savedComment = commentRepository.save(comment);
+        adjustCommentCounts(postId, 1, 0);
+        trendingService.recordComment(postId);
         log.info("Comment added successfully to post {} with id: {}", postId, savedComment.getId());
         return mapToResponse(savedComment);
     }
     
-    public CommentResponse updateComment(Long commentId, CommentRequest commentRequest) {
+    public CommentResponse updateComment(Long commentId, CommentRequest commentRequest, String ifMatch) {
         log.info("Updating comment with id: {}", commentId);
         
+        Long expectedVersion = ifMatch == null ? null
+                : Preconditions.expectedVersion(getCommentWatermark(commentId), ifMatch, "Comment with id: " + commentId);
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
+        Preconditions.checkVersion(expectedVersion, comment.getVersion(), "Comment with id: " + commentId);
         
         comment.setContent(commentRequest.getContent());
         comment.setAuthor(commentRequest.getAuthor());
@@ -113,40 +173,59 @@ public class CommentService {
     public void deleteComment(Long commentId) {
         log.info("Deleting comment with id: {}", commentId);
         
-        if (!commentRepository.existsById(commentId)) {
-            throw new ResourceNotFoundException("Comment not found with id: " + commentId);
-        }
+        Comment comment = commentRepository.findByIdForUpdate(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
         
-        commentRepository.deleteById(commentId);
+        commentRepository.delete(comment);
+        adjustCommentCounts(comment.getPost().getId(), -1, Boolean.TRUE.equals(comment.getApproved()) ? -1 : 0);
         log.info("Comment deleted successfully with id: {}", commentId);
     }
     
-    public CommentResponse approveComment(Long commentId) {
+    public CommentResponse approveComment(Long commentId, String ifMatch) {
         log.info("Approving comment with id: {}", commentId);
-        
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
-        
-        comment.setApproved(true);
-        comment.setUpdatedAt(LocalDateTime.now());
-        
-        Comment approvedComment = commentRepository.save(comment);
+        Comment approvedComment = moderate(commentId, true, ifMatch);
         log.info("Comment approved successfully with id: {}", approvedComment.getId());
         return mapToResponse(approvedComment);
     }
     
-    public CommentResponse rejectComment(Long commentId) {
+    public CommentResponse rejectComment(Long commentId, String ifMatch) {
         log.info("Rejecting comment with id: {}", commentId);
+        Comment rejectedComment = moderate(commentId, false, ifMatch);
+        log.info("Comment rejected successfully with id: {}", rejectedComment.getId());
+        return mapToResponse(rejectedComment);
+    }
+    
+    // The state flip is one conditional UPDATE; only the moderator whose statement matched adjusts the counters.
+    // Repeating an approve/reject is a no-op, unless If-Match pinned a version that has since moved on.
+    private Comment moderate(Long commentId, boolean approved, String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null
+                : Preconditions.expectedVersion(getCommentWatermark(commentId), ifMatch, "Comment with id: " + commentId);
         
+        int changed = commentRepository.updateApproved(commentId, approved, expectedVersion, LocalDateTime.now());
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
         
-        comment.setApproved(false);
-        comment.setUpdatedAt(LocalDateTime.now());
-        
-        Comment rejectedComment = commentRepository.save(comment);
-        log.info("Comment rejected successfully with id: {}", rejectedComment.getId());
-        return mapToResponse(rejectedComment);
+        if (changed == 1) {
+            adjustCommentCounts(comment.getPost().getId(), 0, approved ? 1 : -1);
+        } else {
+            Preconditions.checkVersion(expectedVersion, comment.getVersion(), "Comment with id: " + commentId);
+        }
+        return comment;
+    }
+    
+    // Listings query by post id directly; only an empty result needs a second look to tell
+    // a post without comments from a missing post
+    private void requirePostIfEmpty(boolean empty, Long postId) {
+        if (empty && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+    }
+    
+    // Listings show the counters, so their version moves in the same transaction
+    private void adjustCommentCounts(Long postId, long total, long approved) {
+        postRepository.adjustCommentCounts(postId, total, approved);
+        postRepository.incrementListVersion();
+        cacheService.evictPost(postId);
     }
     
     private CommentResponse mapToResponse(Comment comment) {
@@ -0,0 +1,157 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.ExportFormat;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.projection.CommentExportRow;
+import com.blogapi.model.projection.PostExportRow;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes posts and comments straight from a database cursor to the response. Rows are DTO
+ * projections, so nothing accumulates in the persistence context and heap use stays flat
+ * regardless of table size. The read-only transaction keeps the cursor open for the whole export.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Timed("blog.service")
+@Slf4j
+public class ExportService {
+    
+    private static final List<String> POST_COLUMNS = List.of(
+            "id", "title", "content", "author", "categoryId", "categoryName", "createdAt", "updatedAt");
+    private static final List<String> COMMENT_COLUMNS = List.of(
+            "id", "postId", "content", "author", "approved", "createdAt", "updatedAt");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Checked before the response starts, since errors raised while streaming can no longer change the status.
+     */
+    public static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+    
+    public long exportPosts(Long categoryId, LocalDateTime from, LocalDateTime to,
+                            ExportFormat format, OutputStream output) throws IOException {
+        log.info("Exporting posts as {} (category: {}, from: {}, to: {})", format, categoryId, from, to);
+        try (Stream<PostExportRow> rows = postRepository.streamForExport(categoryId, from, to)) {
+            long count = write(rows, format, output, POST_COLUMNS, row -> Arrays.asList(
+                    row.getId(), row.getTitle(), row.getContent(), row.getAuthor(),
+                    row.getCategoryId(), row.getCategoryName(), row.getCreatedAt(), row.getUpdatedAt()));
+            log.info("Exported {} posts", count);
+            return count;
+        }
+    }
+    
+    public long exportComments(Long categoryId, LocalDateTime from, LocalDateTime to,
+                               ExportFormat format, OutputStream output) throws IOException {
+        log.info("Exporting comments as {} (category: {}, from: {}, to: {})", format, categoryId, from, to);
+        try (Stream<CommentExportRow> rows = commentRepository.streamForExport(categoryId, from, to)) {
+            long count = write(rows, format, output, COMMENT_COLUMNS, row -> Arrays.asList(
+                    row.getId(), row.getPostId(), row.getContent(), row.getAuthor(),
+                    row.getApproved(), row.getCreatedAt(), row.getUpdatedAt()));
+            log.info("Exported {} comments", count);
+            return count;
+        }
+    }
+    
+    // Same JSON shape as the paged listing, one post per line; joins this transaction to keep the cursor open
+    public long exportPostsByCategory(Long categoryId, int excerptLength, OutputStream output) throws IOException {
+        try (Stream<PostResponse> posts = postService.streamPostsByCategory(categoryId, excerptLength)) {
+            long count = writeNdjson(posts.iterator(), output);
+            log.info("Streamed {} posts of category {}", count, categoryId);
+            return count;
+        }
+    }
+    
+    private <T> long write(Stream<T> rows, ExportFormat format, OutputStream output,
+                           List<String> columns, Function<T, List<Object>> csvValues) throws IOException {
+        return format == ExportFormat.CSV
+                ? writeCsv(rows.iterator(), output, columns, csvValues)
+                : writeNdjson(rows.iterator(), output);
+    }
+    
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream output) throws IOException {
+        // One generator for the whole stream; flushing is left to the servlet buffer
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        long count = 0;
+        while (rows.hasNext()) {
+            writer.writeValue(generator, rows.next());
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+    
+    private <T> long writeCsv(Iterator<T> rows, OutputStream output,
+                              List<String> columns, Function<T, List<Object>> csvValues) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns);
+        long count = 0;
+        while (rows.hasNext()) {
+            writeCsvLine(writer, csvValues.apply(rows.next()));
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+    
+    // RFC 4180: fields containing a separator, quote or line break are quoted, quotes are doubled
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof LocalDateTime dateTime ? TIMESTAMP_FORMAT.format(dateTime) : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,151 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.ModerationRequest;
+import com.blogapi.model.dto.ModerationResponse;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Approves or rejects many comments with set-based statements instead of one request per comment.
+ * Targets are processed in id order, one batch per transaction: the batch locks its comments,
+ * flips them with a single UPDATE and moves the approved counters of the affected posts with
+ * another, so no entity is loaded. Locking first keeps the counters exact when a moderator
+ * flips one of the same comments through the single-comment endpoint at the same time.
+ */
+@Service
+@Timed("blog.service")
+@Slf4j
+public class ModerationService {
+    
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final CacheService cacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter approvedCounter;
+    private final Counter rejectedCounter;
+    private final int batchSize;
+    
+    public ModerationService(CommentRepository commentRepository,
+                             PostRepository postRepository,
+                             CacheService cacheService,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${blog.moderation.batch-size:1000}") int batchSize) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.cacheService = cacheService;
+        this.transactionTemplate = transactionTemplate;
+        this.approvedCounter = moderatedCounter(meterRegistry, "approve");
+        this.rejectedCounter = moderatedCounter(meterRegistry, "reject");
+        this.batchSize = batchSize;
+    }
+    
+    private static Counter moderatedCounter(MeterRegistry meterRegistry, String action) {
+        return Counter.builder("blog.comments.moderated")
+                .description("Comments whose approval state was changed by bulk moderation")
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+    
+    public ModerationResponse approveComments(ModerationRequest request) {
+        log.info("Bulk approving comments: {}", describe(request));
+        return moderate(request, true);
+    }
+    
+    public ModerationResponse rejectComments(ModerationRequest request) {
+        log.info("Bulk rejecting comments: {}", describe(request));
+        return moderate(request, false);
+    }
+    
+    public static void validate(ModerationRequest request) {
+        if (request.hasCommentIds() && request.hasFilters()) {
+            throw new IllegalArgumentException("Select comments either by commentIds or by filters, not both");
+        }
+        if (!request.hasCommentIds() && !request.hasFilters()) {
+            throw new IllegalArgumentException("Specify commentIds or at least one of postId, author, createdBefore");
+        }
+    }
+    
+    private ModerationResponse moderate(ModerationRequest request, boolean approved) {
+        validate(request);
+        Progress progress = new Progress();
+        
+        if (request.hasCommentIds()) {
+            List<Long> ids = request.getCommentIds().stream().distinct().sorted().toList();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                moderateBatch(() -> commentRepository.lockForModeration(chunk, approved), approved, progress);
+            }
+        } else {
+            long afterId = 0;
+            while (true) {
+                long after = afterId;
+                Long lastId = moderateBatch(() -> commentRepository.lockForModerationAfter(approved, after,
+                        request.getPostId(), request.getAuthor(), request.getCreatedBefore(), Limit.of(batchSize)),
+                        approved, progress);
+                if (lastId == null) {
+                    break;
+                }
+                afterId = lastId;
+            }
+        }
+        
+        (approved ? approvedCounter : rejectedCounter).increment(progress.updated);
+        log.info("Bulk moderation finished: {} comments {} across {} posts in {} batches", progress.updated,
+                approved ? "approved" : "rejected", progress.postIds.size(), progress.batches);
+        return ModerationResponse.builder()
+                .approved(approved)
+                .updated(progress.updated)
+                .postsAffected(progress.postIds.size())
+                .batches(progress.batches)
+                .build();
+    }
+    
+    // Returns the last comment id of the batch, or null when nothing was left to change
+    private Long moderateBatch(Supplier<List<Long>> lockTargets, boolean approved, Progress progress) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = lockTargets.get();
+            if (ids.isEmpty()) {
+                return null;
+            }
+            List<Long> postIds = commentRepository.findPostIdsByIdIn(ids);
+            int updated = commentRepository.updateApprovedIn(ids, approved, LocalDateTime.now());
+            postRepository.adjustApprovedCommentCounts(postIds, ids, approved ? 1 : -1);
+            postRepository.incrementListVersion();
+            cacheService.evictPosts(postIds);
+            
+            progress.updated += updated;
+            progress.postIds.addAll(postIds);
+            progress.batches++;
+            return ids.get(ids.size() - 1);
+        });
+    }
+    
+    private static String describe(ModerationRequest request) {
+        if (request.hasCommentIds()) {
+            return request.getCommentIds().size() + " ids";
+        }
+        return "postId=" + request.getPostId() + ", author=" + request.getAuthor()
+                + ", createdBefore=" + request.getCreatedBefore();
+    }
+    
+    private static class Progress {
+        private long updated;
+        private final Set<Long> postIds = new HashSet<>();
+        private int batches;
+    }
+}
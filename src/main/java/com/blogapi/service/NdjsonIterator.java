@@ -0,0 +1,64 @@
+package com.blogapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads newline-delimited JSON one line at a time, so an import never holds the whole body in memory.
+ * A line that doesn't parse fails with {@link IllegalArgumentException} from {@link #next()} and
+ * the following lines stay readable.
+ */
+class NdjsonIterator<T> implements Iterator<T> {
+    
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private String nextLine;
+    private int lineNumber;
+    
+    NdjsonIterator(InputStream input, ObjectReader objectReader) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.objectReader = objectReader;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read NDJSON body", ex);
+        }
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        try {
+            return objectReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON on line " + lineNumber + ": " + ex.getOriginalMessage());
+        }
+    }
+}
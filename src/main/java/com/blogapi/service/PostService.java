@@ -1,47 +1,113 @@
 package com.blogapi.service;
 
+import com.blogapi.config.CacheNames;
+import com.blogapi.datasource.ReadYourWrites;
+import com.blogapi.event.PostDeletedEvent;
+import com.blogapi.event.PostSavedEvent;
 import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.Cursor;
+import com.blogapi.model.dto.CursorPage;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
 import com.blogapi.model.entity.Category;
 import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostSummary;
+import com.blogapi.model.projection.PostWatermark;
+import com.blogapi.model.projection.Watermark;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
 import com.blogapi.repository.PostRepository;
+import com.blogapi.search.PostSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed("blog.service")
 @Slf4j
 public class PostService {
     
+    // Excerpt length meaning no truncation; listings return the full content unless a length is requested
+    public static final int FULL_CONTENT = 0;
+    public static final int MAX_EXCERPT_LENGTH = 5000;
+    
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
+    private final CommentRepository commentRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(readOnly = true)
-    public Page<PostResponse> getAllPosts(Pageable pageable) {
+    public Page<PostResponse> getAllPosts(Pageable pageable, int excerptLength) {
         log.info("Fetching all posts with pagination: {}", pageable);
-        return postRepository.findAll(pageable)
+        validateExcerptLength(excerptLength);
+        return postRepository.findAllSummaries(excerptLength, pageable)
                 .map(this::mapToResponse);
     }
     
     @Transactional(readOnly = true)
+    public CursorPage<PostResponse> getPostsByCursor(String cursor, int size, int excerptLength) {
+        log.info("Fetching posts with cursor: {}", cursor);
+        CursorPage.validateSize(size);
+        validateExcerptLength(excerptLength);
+        
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<PostSummary> posts = after == null
+                ? postRepository.findFirstSummariesByCursor(excerptLength, limit)
+                : postRepository.findSummariesBeforeCursor(after.getCreatedAt(), after.getId(), excerptLength, limit);
+        
+        return CursorPage.of(posts, size, this::mapToResponse,
+                summary -> new Cursor(summary.getCreatedAt(), summary.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.POSTS, key = "#id")
     public PostResponse getPostById(Long id) {
         log.info("Fetching post with id: {}", id);
-        Post post = postRepository.findById(id)
+        // Cached until evicted, so never from a replica that may not have replayed the last update
+        Post post = ReadYourWrites.onPrimary(() -> postRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
         return mapToResponse(post);
     }
     
+    // Metadata-only reads backing conditional GETs; no entity is loaded
+    @Transactional(readOnly = true)
+    public PostWatermark getPostWatermark(Long id) {
+        log.debug("Fetching watermark of post: {}", id);
+        PostWatermark watermark = postRepository.findWatermarkById(id);
+        if (watermark.getRowCount() == 0) {
+            throw new ResourceNotFoundException("Post not found with id: " + id);
+        }
+        return watermark;
+    }
+    
+    @Transactional(readOnly = true)
+    public Watermark getPostsWatermark() {
+        log.debug("Fetching watermark of all posts");
+        return postRepository.findWatermark();
+    }
+    
     public PostResponse createPost(PostRequest postRequest) {
         log.info("Creating new post with title: {}", postRequest.getTitle());
         
@@ -61,15 +127,21 @@ public class PostService {
                 .build();
         
         Post savedPost = postRepository.save(post);
+        postRepository.incrementListVersion();
+        eventPublisher.publishEvent(new PostSavedEvent(savedPost.getId(), savedPost.getTitle(), savedPost.getContent()));
         log.info("Post created successfully with id: {}", savedPost.getId());
         return mapToResponse(savedPost);
     }
     
-    public PostResponse updatePost(Long id, PostRequest postRequest) {
+    @CacheEvict(cacheNames = CacheNames.POSTS, key = "#id")
+    public PostResponse updatePost(Long id, PostRequest postRequest, String ifMatch) {
         log.info("Updating post with id: {}", id);
         
+        Long expectedVersion = ifMatch == null ? null
+                : Preconditions.expectedVersion(getPostWatermark(id), ifMatch, "Post with id: " + id);
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+        Preconditions.checkVersion(expectedVersion, post.getVersion(), "Post with id: " + id);
         
         // Update category if changed
         if (!post.getCategory().getId().equals(postRequest.getCategoryId())) {
@@ -85,43 +157,97 @@ public class PostService {
         post.setUpdatedAt(LocalDateTime.now());
         
         Post updatedPost = postRepository.save(post);
+        postRepository.incrementListVersion();
+        eventPublisher.publishEvent(new PostSavedEvent(updatedPost.getId(), updatedPost.getTitle(), updatedPost.getContent()));
         log.info("Post updated successfully with id: {}", updatedPost.getId());
         return mapToResponse(updatedPost);
     }
     
+    @CacheEvict(cacheNames = CacheNames.POSTS, key = "#id")
     public void deletePost(Long id) {
         log.info("Deleting post with id: {}", id);
         
-        if (!postRepository.existsById(id)) {
+        // Two set-based deletes instead of loading the post and cascading to each comment one by one
+        commentRepository.deleteByPostIdInBulk(id);
+        if (postRepository.deleteByIdInBulk(id) == 0) {
             throw new ResourceNotFoundException("Post not found with id: " + id);
         }
-        postRepository.deleteById(id);
+        postRepository.incrementListVersion();
+        eventPublisher.publishEvent(new PostDeletedEvent(id));
         log.info("Post deleted successfully with id: {}", id);
     }
     
     @Transactional(readOnly = true)
-    public List<PostResponse> getPostsByCategory(Long categoryId) {
-        log.info("Fetching posts for category: {}", categoryId);
+    public CursorPage<PostResponse> getPostsByCategory(Long categoryId, String cursor, int size, int excerptLength) {
+        log.info("Fetching posts for category: {} with cursor: {}", categoryId, cursor);
+        CursorPage.validateSize(size);
+        validateExcerptLength(excerptLength);
         
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<PostSummary> posts = after == null
+                ? postRepository.findFirstSummariesByCategory(categoryId, excerptLength, limit)
+                : postRepository.findSummariesByCategoryBeforeCursor(
+                        categoryId, after.getCreatedAt(), after.getId(), excerptLength, limit);
+        // Only an empty result needs a second query to tell an empty category from a missing one
+        if (posts.isEmpty() && !categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category not found with id: " + categoryId);
+        }
+        
+        return CursorPage.of(posts, size, this::mapToResponse,
+                summary -> new Cursor(summary.getCreatedAt(), summary.getId()));
+    }
+    
+    /**
+     * Checked before a streamed listing starts, since errors raised while streaming can no longer change the status.
+     */
+    @Transactional(readOnly = true)
+    public void validateCategoryListing(Long categoryId, int excerptLength) {
+        validateExcerptLength(excerptLength);
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category not found with id: " + categoryId);
         }
+    }
+    
+    /**
+     * Every post of the category in listing order, mapped lazily off an open database cursor.
+     * The caller's transaction keeps the cursor open, so it must be consumed and closed inside it.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<PostResponse> streamPostsByCategory(Long categoryId, int excerptLength) {
+        log.info("Streaming posts for category: {}", categoryId);
+        return postRepository.streamSummariesByCategory(categoryId, excerptLength)
+                .map(this::mapToResponse);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<PostResponse> searchPosts(String searchTerm, Pageable pageable, int excerptLength) {
+        log.info("Searching posts with term: {}", searchTerm);
+        validateExcerptLength(excerptLength);
         
-        return postRepository.findByCategoryId(categoryId)
+        // The index ranks by relevance; rows are then loaded by id and put back in rank order
+        Page<Long> ids = postSearchIndex.search(searchTerm, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, PostSummary> summaries = postRepository.findSummariesByIdIn(ids.getContent(), excerptLength)
                 .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        List<PostResponse> posts = ids.getContent().stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        return new PageImpl<>(posts, pageable, ids.getTotalElements());
     }
     
-    @Transactional(readOnly = true)
-    public Page<PostResponse> searchPosts(String searchTerm, Pageable pageable) {
-        log.info("Searching posts with term: {}", searchTerm);
-        return postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(
-                searchTerm, searchTerm, pageable)
-                .map(this::mapToResponse);
+    private void validateExcerptLength(int excerptLength) {
+        if (excerptLength < 0 || excerptLength > MAX_EXCERPT_LENGTH) {
+            throw new IllegalArgumentException("Excerpt length must be between 0 and " + MAX_EXCERPT_LENGTH);
+        }
     }
     
-    private PostResponse mapToResponse(Post post) {
+    PostResponse mapToResponse(Post post) {
         return PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
@@ -129,8 +255,26 @@ public class PostService {
                 .author(post.getAuthor())
                 .categoryId(post.getCategory().getId())
                 .categoryName(post.getCategory().getName())
+                .commentCount(post.getCommentCount())
+                .approvedCommentCount(post.getApprovedCommentCount())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .build();
     }
+    
+    // The summary's excerpt is the full content unless the listing requested an excerpt length
+    PostResponse mapToResponse(PostSummary summary) {
+        return PostResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .content(summary.getExcerpt())
+                .author(summary.getAuthor())
+                .categoryId(summary.getCategoryId())
+                .categoryName(summary.getCategoryName())
+                .commentCount(summary.getCommentCount())
+                .approvedCommentCount(summary.getApprovedCommentCount())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
 }
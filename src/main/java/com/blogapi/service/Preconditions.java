@@ -0,0 +1,31 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.PreconditionFailedException;
+import com.blogapi.model.projection.Watermark;
+
+/**
+ * If-Match handling shared by the update paths. The ETag is checked against the metadata-only
+ * watermark before any entity is loaded, so a stale client gets its 412 from one cheap query.
+ */
+final class Preconditions {
+    
+    private Preconditions() {
+    }
+    
+    /**
+     * @return the version the client's ETag refers to
+     */
+    static Long expectedVersion(Watermark watermark, String ifMatch, String resource) {
+        if (!watermark.matches(ifMatch)) {
+            throw new PreconditionFailedException(resource + " has been modified; fetch it again for its current ETag");
+        }
+        return watermark.getVersion();
+    }
+    
+    // Closes the gap between the watermark query and loading the entity; @Version covers the rest
+    static void checkVersion(Long expectedVersion, Long currentVersion, String resource) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resource + " has been modified; fetch it again for its current ETag");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.blogapi.trending;
+
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.model.entity.TrendingScore;
+import com.blogapi.model.projection.PostSummary;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.repository.TrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks posts by recent views and new comments. Each post has a pair of {@link LongAdder}s, so
+ * recording an event never locks or touches the database. Every refresh interval the new counts
+ * are folded into per-post scores that halve every half-life. The top K posts are then published
+ * as an immutable snapshot, and {@code GET /api/posts/trending} serves it as-is.
+ * <p>
+ * Scores are checkpointed to {@code trending_scores} and restored, decayed to the current time,
+ * on startup, so a restart keeps the ranking. Posts whose score decays to nothing are forgotten.
+ * Several instances share the table: a checkpoint merges into it rather than replacing it.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+    
+    static final String INSERT_SQL = "INSERT INTO trending_scores (post_id, score, scored_at) VALUES (?, ?, ?)";
+    // Below this a post has had no activity for many half-lives
+    static final double MIN_SCORE = 0.01;
+    static final int EXCERPT_LENGTH = 200;
+    
+    private final PostRepository postRepository;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration halfLife;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final int topK;
+    private final Duration refreshInterval;
+    private final Map<Long, Activity> activity = new ConcurrentHashMap<>();
+    // Serializes refreshes, checkpoints and the startup restore; the request path never takes it
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    private volatile List<TrendingPostResponse> snapshot = List.of();
+    private LocalDateTime lastRefresh = LocalDateTime.now();
+    
+    public TrendingService(PostRepository postRepository,
+                           TrendingScoreRepository trendingScoreRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${blog.trending.half-life-minutes:360}") long halfLifeMinutes,
+                           @Value("${blog.trending.view-weight:1}") double viewWeight,
+                           @Value("${blog.trending.comment-weight:5}") double commentWeight,
+                           @Value("${blog.trending.top-k:100}") int topK,
+                           @Value("${blog.trending.refresh-interval-ms:5000}") long refreshIntervalMs) {
+        this.postRepository = postRepository;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.halfLife = Duration.ofMinutes(halfLifeMinutes);
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.topK = topK;
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMs);
+    }
+    
+    public void recordView(Long postId) {
+        activity(postId).views.increment();
+    }
+    
+    public void recordComment(Long postId) {
+        activity(postId).comments.increment();
+    }
+    
+    public List<TrendingPostResponse> getTrendingPosts(int limit) {
+        if (limit < 1 || limit > topK) {
+            throw new IllegalArgumentException("limit must be between 1 and " + topK);
+        }
+        List<TrendingPostResponse> current = snapshot;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+    
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+    
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval-ms:5000}")
+    public void refresh() {
+        refresh(LocalDateTime.now());
+    }
+    
+    void refresh(LocalDateTime now) {
+        refreshLock.lock();
+        try {
+            double decay = decay(lastRefresh, now);
+            lastRefresh = now;
+            
+            PriorityQueue<Map.Entry<Long, Activity>> top =
+                    new PriorityQueue<>(Comparator.comparingDouble(entry -> entry.getValue().score));
+            for (Map.Entry<Long, Activity> entry : activity.entrySet()) {
+                Activity postActivity = entry.getValue();
+                if (postActivity.fold(decay, viewWeight, commentWeight) < MIN_SCORE) {
+                    // An event racing this removal is lost; at this score it wouldn't rank anyway
+                    activity.remove(entry.getKey(), postActivity);
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > topK) {
+                    top.poll();
+                }
+            }
+            
+            List<Map.Entry<Long, Activity>> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble((Map.Entry<Long, Activity> entry) -> entry.getValue().score).reversed());
+            snapshot = List.copyOf(toResponses(ranked));
+        } catch (DataAccessException ex) {
+            log.warn("Refreshing trending posts failed, keeping the previous ranking: {}", ex.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${blog.trending.checkpoint-interval-ms:300000}",
+            fixedDelayString = "${blog.trending.checkpoint-interval-ms:300000}")
+    @PreDestroy
+    public void checkpoint() {
+        refreshLock.lock();
+        try {
+            LocalDateTime scoredAt = lastRefresh;
+            Map<Long, Double> scores = activity.entrySet().stream()
+                    .filter(entry -> entry.getValue().score >= MIN_SCORE)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().score));
+            Integer written = transactionTemplate.execute(status -> merge(scores, scoredAt));
+            log.debug("Checkpointed {} trending scores", written);
+        } catch (DataAccessException ex) {
+            log.warn("Checkpointing trending scores failed: {}", ex.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    // Each instance sees only its share of the traffic, and all of them restore from this table.
+    // So a stored score is merged with the local one by keeping the higher of the two, both decayed
+    // to the later time; a sum would count the restored part once per instance. The row locks
+    // serialize concurrent checkpoints; two instances inserting the same new post collide on its key
+    // and the loser retries on its next checkpoint.
+    private int merge(Map<Long, Double> scores, LocalDateTime scoredAt) {
+        Map<Long, Double> fresh = new HashMap<>(scores);
+        List<TrendingScore> merged = new ArrayList<>();
+        List<Long> expired = new ArrayList<>();
+        for (TrendingScore stored : trendingScoreRepository.findAllForUpdate()) {
+            Double local = fresh.remove(stored.getPostId());
+            LocalDateTime at = stored.getScoredAt().isAfter(scoredAt) ? stored.getScoredAt() : scoredAt;
+            double score = stored.getScore() * decay(stored.getScoredAt(), at);
+            if (local != null) {
+                score = Math.max(score, local * decay(scoredAt, at));
+            }
+            if (score < MIN_SCORE) {
+                expired.add(stored.getPostId());
+                continue;
+            }
+            stored.setScore(score);
+            stored.setScoredAt(at);
+            merged.add(stored);
+        }
+        if (!expired.isEmpty()) {
+            trendingScoreRepository.deleteAllByIdInBatch(expired);
+        }
+        trendingScoreRepository.saveAll(merged);
+        if (!fresh.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, List.copyOf(fresh.entrySet()), fresh.size(), (ps, score) -> {
+                ps.setLong(1, score.getKey());
+                ps.setDouble(2, score.getValue());
+                ps.setObject(3, scoredAt);
+            });
+        }
+        return merged.size() + fresh.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshLock.lock();
+        try {
+            List<TrendingScore> scores = trendingScoreRepository.findAll();
+            for (TrendingScore score : scores) {
+                activity(score.getPostId()).score += score.getScore() * decay(score.getScoredAt(), now);
+            }
+            log.info("Restored {} trending scores", scores.size());
+        } finally {
+            refreshLock.unlock();
+        }
+        refresh(now);
+    }
+    
+    private Activity activity(Long postId) {
+        // get() first: computeIfAbsent locks the bin even when the key exists
+        Activity postActivity = activity.get(postId);
+        return postActivity != null ? postActivity : activity.computeIfAbsent(postId, id -> new Activity());
+    }
+    
+    private double decay(LocalDateTime from, LocalDateTime to) {
+        long elapsedMillis = Math.max(0, Duration.between(from, to).toMillis());
+        return Math.pow(0.5, (double) elapsedMillis / halfLife.toMillis());
+    }
+    
+    private List<TrendingPostResponse> toResponses(List<Map.Entry<Long, Activity>> ranked) {
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostSummary> summaries = postRepository
+                .findSummariesByIdIn(ranked.stream().map(Map.Entry::getKey).toList(), EXCERPT_LENGTH)
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        
+        List<TrendingPostResponse> responses = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Activity> entry : ranked) {
+            PostSummary summary = summaries.get(entry.getKey());
+            if (summary == null) {
+                // Deleted since its last event
+                activity.remove(entry.getKey());
+                continue;
+            }
+            responses.add(TrendingPostResponse.builder()
+                    .id(summary.getId())
+                    .title(summary.getTitle())
+                    .excerpt(summary.getExcerpt())
+                    .author(summary.getAuthor())
+                    .categoryId(summary.getCategoryId())
+                    .categoryName(summary.getCategoryName())
+                    .commentCount(summary.getCommentCount())
+                    .score(Math.round(entry.getValue().score * 100) / 100.0)
+                    .createdAt(summary.getCreatedAt())
+                    .build());
+        }
+        return responses;
+    }
+    
+    static final class Activity {
+        
+        final LongAdder views = new LongAdder();
+        final LongAdder comments = new LongAdder();
+        // Touched only under the refresh lock; the adders are never reset, so no increment is lost
+        // between reading and clearing them
+        double score;
+        private long foldedViews;
+        private long foldedComments;
+        
+        double fold(double decay, double viewWeight, double commentWeight) {
+            long totalViews = views.sum();
+            long totalComments = comments.sum();
+            score = score * decay
+                    + viewWeight * (totalViews - foldedViews)
+                    + commentWeight * (totalComments - foldedComments);
+            foldedViews = totalViews;
+            foldedComments = totalComments;
+            return score;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Category listings (GET /api/posts/category/{categoryId}): newest first by (created_at, id) within one category.
+-- Matches the keyset predicate and ORDER BY exactly, so each page is a single index range scan with no sort.
+CREATE INDEX IF NOT EXISTS idx_posts_category_created_at_id ON posts (category_id, created_at DESC, id DESC);
@@ -0,0 +1,6 @@
+-- Denormalized comment counters on posts, maintained by relative UPDATEs in the application.
+-- Existing rows start at zero; CommentCountReconciler fills them in batches on its first run.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS approved_comment_count BIGINT NOT NULL DEFAULT 0;
+-- Bumped by every counter UPDATE; post ETags cover it, so updated_at stays the time of the last edit.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS counters_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Keyset listings (GET /api/posts/cursor, GET /api/posts/{postId}/comments/cursor): newest first by (created_at, id).
+-- Match the seek predicate and ORDER BY exactly, so each page is a single index range scan with no sort.
+CREATE INDEX IF NOT EXISTS idx_posts_created_at_id ON posts (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_at_id ON comments (post_id, created_at DESC, id DESC);
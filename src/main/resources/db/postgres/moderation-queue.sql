@@ -0,0 +1,3 @@
+-- Pending-comments feed (GET /api/comments/pending): oldest first by (created_at, id).
+-- Partial index over unapproved rows only, so it stays as small as the queue itself.
+CREATE INDEX IF NOT EXISTS idx_comments_pending_created_at_id ON comments (created_at, id) WHERE approved = false;
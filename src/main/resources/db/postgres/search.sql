@@ -0,0 +1,9 @@
+-- Full-text search support for the "postgres" search backend (blog.search.backend=postgres).
+-- Title lexemes are weighted above content lexemes so ts_rank favours title matches.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
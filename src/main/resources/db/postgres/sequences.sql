@@ -0,0 +1,11 @@
+-- Pooled ID sequences for posts, comments and categories (allocationSize = 50 in the entities).
+-- Hibernate fetches one value per 50 inserts, which keeps JDBC insert batching enabled.
+-- Each sequence is moved past existing rows but never backwards, so re-running is safe while
+-- other instances hold allocated blocks.
+CREATE SEQUENCE IF NOT EXISTS posts_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('posts_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM posts), (SELECT last_value FROM posts_seq)));
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM comments), (SELECT last_value FROM comments_seq)));
+SELECT setval('categories_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM categories), (SELECT last_value FROM categories_seq)));
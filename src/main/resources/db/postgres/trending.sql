@@ -0,0 +1,6 @@
+-- Checkpointed trending scores (TrendingService), merged into by the checkpoint of every instance.
+CREATE TABLE IF NOT EXISTS trending_scores (
+    post_id BIGINT PRIMARY KEY,
+    score DOUBLE PRECISION NOT NULL,
+    scored_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Collection versions (CollectionVersion): the ETag of the post listings, bumped by every write that changes them.
+CREATE TABLE IF NOT EXISTS collection_versions (
+    name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+INSERT INTO collection_versions (name, version) VALUES ('posts', 0) ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,2 @@
+-- Loaded by Hibernate after it creates the schema (ddl-auto=create/create-drop); see db/postgres/watermarks.sql otherwise.
+INSERT INTO collection_versions (name, version) VALUES ('posts', 0);
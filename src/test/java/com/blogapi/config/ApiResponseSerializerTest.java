@@ -0,0 +1,114 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.dto.ResponseClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ApiResponseSerializerTest {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    // Bean serialization, as before the envelope serializers were registered
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper envelopeMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new JacksonConfig().responseSerializersModule())
+            .build();
+    
+    private final PostResponse post = PostResponse.builder()
+            .id(1L)
+            .title("Test \"quoted\" Post")
+            .content("Test content")
+            .author("John Doe")
+            .categoryId(1L)
+            .categoryName("Technology")
+            .commentCount(2L)
+            .createdAt(CREATED_AT)
+            .updatedAt(CREATED_AT)
+            .build();
+    
+    @Test
+    void testJson_MatchesBeanSerializationForPages() throws Exception {
+        // Arrange
+        Page<PostResponse> sorted = new PageImpl<>(List.of(post),
+                PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "createdAt")), 3);
+        Page<PostResponse> unsorted = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        
+        // Act & Assert
+        for (Page<PostResponse> page : List.of(sorted, unsorted)) {
+            ApiResponse<Page<PostResponse>> response = ApiResponse.success("Posts retrieved successfully", page);
+            assertSameJson(response);
+        }
+    }
+    
+    @Test
+    void testJson_MatchesBeanSerializationForEnvelopes() throws Exception {
+        // Arrange
+        List<ApiResponse<?>> responses = List.of(
+                ApiResponse.created("Post created successfully", post),
+                ApiResponse.error(404, "Resource Not Found", "Post not found with id: 9"),
+                ApiResponse.builder().status(400).message("Validation Failed")
+                        .data(Map.of("title", "Title is required")).timestamp(CREATED_AT).build(),
+                new ApiResponse<>());
+        
+        // Act & Assert
+        for (ApiResponse<?> response : responses) {
+            assertSameJson(response);
+        }
+    }
+    
+    @Test
+    void testJson_TimestampsMatchJavaTimeSerialization() throws Exception {
+        // Arrange
+        LocalDateTime withNanos = LocalDateTime.of(987, 12, 31, 23, 59, 7, 123_456_789);
+        PostResponse annotated = PostResponse.builder().createdAt(withNanos).updatedAt(CREATED_AT).build();
+        
+        // Act & Assert
+        assertThat(envelopeMapper.writeValueAsString(annotated)).isEqualTo(beanMapper.writeValueAsString(annotated))
+                .contains("\"createdAt\":\"0987-12-31T23:59:07\"");
+        // Without @JsonFormat, Jackson's ISO output is kept
+        assertThat(envelopeMapper.writeValueAsString(Map.of("at", withNanos)))
+                .isEqualTo(beanMapper.writeValueAsString(Map.of("at", withNanos)));
+        assertThat(envelopeMapper.writeValueAsString(withNanos)).isEqualTo(beanMapper.writeValueAsString(withNanos));
+    }
+    
+    @Test
+    void testResponseClock_SharesOneTimestampPerSecond() {
+        // Act
+        LocalDateTime first = ResponseClock.now();
+        LocalDateTime second = ResponseClock.now();
+        
+        // Assert
+        assertThat(first.getNano()).isZero();
+        assertThat(second).isAfterOrEqualTo(first);
+        if (second.equals(first)) {
+            assertThat(second).isSameAs(first);
+            assertThat(ResponseClock.encoded(first).getValue()).isEqualTo(ResponseClock.FORMAT.format(first));
+        }
+        assertThat(ResponseClock.encoded(CREATED_AT)).isNull();
+    }
+    
+    // Bean serialization orders PageImpl's properties by reflection, which varies between JVMs, so
+    // documents are compared as trees
+    private void assertSameJson(ApiResponse<?> response) throws Exception {
+        String json = envelopeMapper.writeValueAsString(response);
+        assertThat(envelopeMapper.readTree(json)).isEqualTo(beanMapper.readTree(beanMapper.writeValueAsString(response)));
+        assertThat(json).startsWith("{\"status\":").contains(",\"timestamp\":");
+    }
+}
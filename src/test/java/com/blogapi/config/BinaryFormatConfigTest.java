@@ -0,0 +1,98 @@
+package com.blogapi.config;
+
+import com.blogapi.model.dto.ApiResponse;
+import com.blogapi.model.dto.PostResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BinaryFormatConfigTest {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    private final PostResponse post = PostResponse.builder()
+            .id(1L)
+            .title("Test Post")
+            .content("Test content")
+            .author("John Doe")
+            .categoryId(1L)
+            .categoryName("Technology")
+            .createdAt(CREATED_AT)
+            .updatedAt(CREATED_AT)
+            .build();
+    
+    @Test
+    void testCbor_WritesLeanEnvelopeWithEpochTimestamps() throws Exception {
+        // Arrange
+        ObjectMapper mapper = BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+        ApiResponse<PageImpl<PostResponse>> response = ApiResponse.success("Posts retrieved successfully",
+                new PageImpl<>(List.of(post), PageRequest.of(2, 1), 5));
+        
+        // Act
+        JsonNode tree = new ObjectMapper(new CBORFactory()).readTree(mapper.writeValueAsBytes(response));
+        
+        // Assert
+        long epochMillis = CREATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertThat(tree.has("status")).isFalse();
+        assertThat(tree.has("message")).isFalse();
+        assertThat(tree.has("error")).isFalse();
+        assertThat(tree.get("timestamp").isNumber()).isTrue();
+        JsonNode page = tree.get("data");
+        assertThat(page.has("pageable")).isFalse();
+        assertThat(page.get("number").asInt()).isEqualTo(2);
+        assertThat(page.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(page.get("content").get(0).get("createdAt").asLong()).isEqualTo(epochMillis);
+        assertThat(page.get("content").get(0).get("title").asText()).isEqualTo("Test Post");
+    }
+    
+    @Test
+    void testSmile_OmitsNullsWhileJsonKeepsThem() throws Exception {
+        // Arrange
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper json = builder.build();
+        ObjectMapper smile = BinaryFormatConfig.binaryObjectMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+        
+        // Act
+        JsonNode fromSmile = new ObjectMapper(new SmileFactory()).readTree(smile.writeValueAsBytes(post));
+        String fromJson = json.writeValueAsString(post);
+        
+        // Assert
+        assertThat(fromSmile.get("createdAt").isNumber()).isTrue();
+        assertThat(fromSmile.has("commentCount")).isFalse();
+        assertThat(fromJson).contains("\"createdAt\":\"2024-01-15T10:30:00\"", "\"commentCount\":null");
+    }
+    
+    @Test
+    void testRepresentation_FollowsAcceptLikeContentNegotiation() {
+        // Act & Assert
+        assertThat(representationFor(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(representationFor("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(representationFor("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(representationFor("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(BinaryFormatConfig.APPLICATION_SMILE);
+        assertThat(representationFor("application/cbor;q=0.1, */*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(representationFor("not a media type")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+    
+    private static MediaType representationFor(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return BinaryFormatConfig.representation(new ServletWebRequest(request));
+    }
+}
@@ -0,0 +1,23 @@
+package com.blogapi.config;
+
+import com.blogapi.search.LucenePostSearchIndex;
+import com.blogapi.service.CommentCountReconciler;
+import com.blogapi.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LazyInitializationConfigTest {
+    
+    private final LazyInitializationExcludeFilter filter = LazyInitializationConfig.scheduledBeansExcludeFilter();
+    
+    @Test
+    void testIsExcluded_KeepsBeansWithScheduledMethodsEager() {
+        // Act & Assert
+        assertThat(filter.isExcluded("commentCountReconciler", null, CommentCountReconciler.class)).isTrue();
+        assertThat(filter.isExcluded("lucenePostSearchIndex", null, LucenePostSearchIndex.class)).isTrue();
+        assertThat(filter.isExcluded("postService", null, PostService.class)).isFalse();
+        assertThat(filter.isExcluded("unknown", null, null)).isFalse();
+    }
+}
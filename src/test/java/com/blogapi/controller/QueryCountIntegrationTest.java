@@ -0,0 +1,269 @@
+package com.blogapi.controller;
+
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs every controller endpoint against the seeded H2 database and counts the JDBC statements
+ * Hibernate prepares for each request, so an extra existence check or a lazy load per row fails
+ * the build. Budgets are per request and independent of row counts; an N+1 on a listing shows up
+ * both as a blown budget and as a lazy entity or collection fetch, which no endpoint may trigger.
+ * Caches are cleared before each request, so budgets cover the cold path.
+ */
+@SpringBootTest(properties = {
+        "blog.search.lucene.directory=target/test-search-index",
+        // Keeps the background ranking query out of the per-request statement counts
+        "blog.trending.refresh-interval-ms=3600000",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@AutoConfigureMockMvc
+public class QueryCountIntegrationTest {
+    
+    private static final long MISSING_ID = 999_999L;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    private Statistics statistics;
+    private Category category;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = newCategory();
+    }
+    
+    @Test
+    void testPostReads() throws Exception {
+        Post post = newPost(3);
+        
+        assertStatements(2, get("/api/posts"), status().isOk());
+        assertStatements(2, get("/api/posts/cursor"), status().isOk());
+        assertStatements(2, get("/api/posts/{id}", post.getId()), status().isOk());
+        assertStatements(1, get("/api/posts/{id}", MISSING_ID), status().isNotFound());
+        assertStatements(1, get("/api/posts/category/{categoryId}", category.getId()), status().isOk());
+        mockMvc.perform(get("/api/posts/category/{categoryId}", category.getId()))
+                .andExpect(jsonPath("$.data.content[0].content").value("Created by the statement-count test"));
+        mockMvc.perform(get("/api/posts/category/{categoryId}", category.getId()).param("excerptLength", "10"))
+                .andExpect(jsonPath("$.data.content[0].content").value("Created by"));
+        assertStatements(2, get("/api/posts/category/{categoryId}/stream", category.getId()), status().isOk());
+        assertStatements(1, get("/api/posts/search").param("searchTerm", "spring"), status().isOk());
+        assertStatements(0, get("/api/posts/trending"), status().isOk());
+    }
+    
+    @Test
+    void testPostWrites() throws Exception {
+        Post post = newPost(3);
+        
+        assertStatements(3, post("/api/posts").contentType(MediaType.APPLICATION_JSON)
+                .content(postJson("Created post")), status().isCreated());
+        assertStatements(3, post("/api/posts/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(IntStream.range(0, 10)
+                        .mapToObj(i -> postJson("Bulk post " + i))
+                        .collect(Collectors.joining(",", "[", "]"))), status().isCreated());
+        assertStatements(3, post("/api/posts/bulk").contentType(MediaType.APPLICATION_NDJSON)
+                .content(IntStream.range(0, 10)
+                        .mapToObj(i -> postJson("Streamed post " + i))
+                        .collect(Collectors.joining("\n"))), status().isCreated());
+        assertStatements(4, put("/api/posts/{id}", post.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(postJson("Updated post")), status().isOk());
+        assertStatements(3, delete("/api/posts/{id}", post.getId()), status().isNoContent());
+        assertThat(postRepository.existsById(post.getId())).isFalse();
+    }
+    
+    @Test
+    void testPostListingEtag() throws Exception {
+        Post older = newPost(0);
+        Post post = newPost(1);
+        String etag = mockMvc.perform(get("/api/posts")).andReturn().getResponse().getHeader("ETag");
+        
+        // An unchanged listing is answered from the watermark alone
+        assertStatements(1, get("/api/posts").header("If-None-Match", etag), status().isNotModified());
+        // The same state in CBOR is a different body, so the JSON tag does not validate it
+        mockMvc.perform(get("/api/posts").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(post("/api/posts/{postId}/comments", post.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(commentJson("Counted comment"))).andExpect(status().isCreated());
+        String afterComment = mockMvc.perform(get("/api/posts").header("If-None-Match", etag))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+        
+        // Deleting an older post moves no timestamp of the remaining rows; the list version still moves
+        mockMvc.perform(delete("/api/posts/{id}", older.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/posts").header("If-None-Match", afterComment)).andExpect(status().isOk());
+    }
+    
+    @Test
+    void testCategoryEndpoints() throws Exception {
+        Category empty = newCategory();
+        
+        assertStatements(2, get("/api/categories"), status().isOk());
+        assertStatements(2, get("/api/categories/{id}", category.getId()), status().isOk());
+        assertStatements(1, get("/api/categories/search").param("searchTerm", "Budget"), status().isOk());
+        assertStatements(2, post("/api/categories").contentType(MediaType.APPLICATION_JSON)
+                .content(categoryJson("Created " + System.nanoTime())), status().isCreated());
+        assertStatements(5, put("/api/categories/{id}", empty.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(categoryJson("Renamed " + System.nanoTime())), status().isOk());
+        assertStatements(2, delete("/api/categories/{id}", empty.getId()), status().isNoContent());
+        newPost(0);
+        assertStatements(1, delete("/api/categories/{id}", category.getId()), status().isBadRequest());
+    }
+    
+    @Test
+    void testCommentReads() throws Exception {
+        Post post = newPost(12);
+        Long commentId = commentRepository.findByPostId(post.getId()).get(0).getId();
+        
+        assertStatements(3, get("/api/posts/{postId}/comments", post.getId()), status().isOk());
+        assertStatements(2, get("/api/posts/{postId}/comments/cursor", post.getId()), status().isOk());
+        assertStatements(2, get("/api/posts/{postId}/comments/approved", post.getId()), status().isOk());
+        assertStatements(2, get("/api/posts/{postId}/comments/{commentId}", post.getId(), commentId), status().isOk());
+        assertStatements(2, get("/api/posts/{postId}/comments", MISSING_ID), status().isNotFound());
+    }
+    
+    @Test
+    void testCommentWrites() throws Exception {
+        Post post = newPost(2);
+        Long commentId = commentRepository.findByPostId(post.getId()).get(0).getId();
+        
+        assertStatements(4, post("/api/posts/{postId}/comments", post.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(commentJson("New comment")), status().isCreated());
+        assertStatements(5, post("/api/posts/{postId}/comments/bulk", post.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(IntStream.range(0, 10)
+                        .mapToObj(i -> commentJson("Bulk comment " + i))
+                        .collect(Collectors.joining(",", "[", "]"))), status().isCreated());
+        assertStatements(5, post("/api/posts/{postId}/comments/bulk", post.getId()).contentType(MediaType.APPLICATION_NDJSON)
+                .content(IntStream.range(0, 10)
+                        .mapToObj(i -> commentJson("Streamed comment " + i))
+                        .collect(Collectors.joining("\n"))), status().isCreated());
+        assertStatements(3, put("/api/posts/{postId}/comments/{commentId}", post.getId(), commentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(commentJson("Edited comment")), status().isOk());
+        assertStatements(5, put("/api/posts/{postId}/comments/{commentId}/approve", post.getId(), commentId),
+                status().isOk());
+        assertStatements(5, put("/api/posts/{postId}/comments/{commentId}/reject", post.getId(), commentId),
+                status().isOk());
+        assertStatements(4, delete("/api/posts/{postId}/comments/{commentId}", post.getId(), commentId),
+                status().isNoContent());
+    }
+    
+    @Test
+    void testModerationEndpoints() throws Exception {
+        Post post = newPost(20);
+        
+        assertStatements(1, get("/api/comments/pending").param("size", "50"), status().isOk());
+        assertStatements(6, post("/api/moderation/comments/approve").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"postId\": " + post.getId() + "}"), status().isOk());
+        assertStatements(6, post("/api/moderation/comments/reject").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"postId\": " + post.getId() + "}"), status().isOk());
+    }
+    
+    @Test
+    void testExportAndCacheEndpoints() throws Exception {
+        newPost(5);
+        
+        assertStatements(1, get("/api/export/posts").param("format", "csv"), status().isOk());
+        assertStatements(1, get("/api/export/comments").param("format", "ndjson"), status().isOk());
+        assertStatements(0, get("/api/cache/stats"), status().isOk());
+    }
+    
+    private void assertStatements(long budget, RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics.clear();
+        
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(expectedStatus);
+        } else {
+            expectedStatus.match(result);
+        }
+        
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("JDBC statements for %s", endpoint)
+                .isLessThanOrEqualTo(budget);
+        assertThat(statistics.getEntityFetchCount() + statistics.getCollectionFetchCount())
+                .as("Lazy entity and collection fetches for %s", endpoint)
+                .isZero();
+    }
+    
+    private Category newCategory() {
+        return categoryRepository.save(Category.builder()
+                .name("Budget " + System.nanoTime())
+                .description("Created by the statement-count test")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+    
+    private Post newPost(int comments) {
+        Post post = postRepository.save(Post.builder()
+                .title("Budget post")
+                .content("Created by the statement-count test")
+                .author("Test")
+                .category(category)
+                .build());
+        for (int i = 0; i < comments; i++) {
+            commentRepository.save(Comment.builder()
+                    .content("Comment " + i).author("Test").post(post).approved(i % 2 == 0).build());
+        }
+        postRepository.adjustCommentCounts(post.getId(), comments, (comments + 1) / 2);
+        return post;
+    }
+    
+    private String postJson(String title) {
+        return "{\"title\": \"" + title + "\", \"content\": \"Content of " + title + "\", "
+                + "\"author\": \"Test\", \"categoryId\": " + category.getId() + "}";
+    }
+    
+    private static String categoryJson(String name) {
+        return "{\"name\": \"" + name + "\", \"description\": \"Budget category\"}";
+    }
+    
+    private static String commentJson(String content) {
+        return "{\"content\": \"" + content + "\", \"author\": \"Test\"}";
+    }
+}
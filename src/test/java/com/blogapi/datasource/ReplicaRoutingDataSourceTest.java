@@ -0,0 +1,126 @@
+package com.blogapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routes between two separate in-memory H2 databases; each holds a row naming itself, so a query
+ * shows which one a transaction actually used.
+ */
+public class ReplicaRoutingDataSourceTest {
+    
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    
+    @BeforeEach
+    void setUp() {
+        primary = database("routing-primary");
+        replica = database("routing-replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                "SELECT lag_seconds FROM node", Duration.ofSeconds(2));
+        
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+        new JdbcTemplate(primary).execute("DROP TABLE node");
+        new JdbcTemplate(replica).execute("DROP TABLE node");
+    }
+    
+    @Test
+    void testReadOnlyTransaction_UsesReplica() {
+        // Arrange
+        routingDataSource.refreshReplicaLag();
+        
+        // Act & Assert
+        assertThat(currentNode(readOnly)).isEqualTo("routing-replica");
+        assertThat(routingDataSource.getReplicas().get(0).getLagMillis()).isZero();
+    }
+    
+    @Test
+    void testReadWriteTransaction_UsesPrimary() {
+        // Arrange
+        routingDataSource.refreshReplicaLag();
+        
+        // Act & Assert
+        assertThat(currentNode(readWrite)).isEqualTo("routing-primary");
+    }
+    
+    @Test
+    void testReadOnlyTransaction_PinnedAfterWrite_UsesPrimary() {
+        // Arrange
+        routingDataSource.refreshReplicaLag();
+        ReadYourWrites.pin();
+        
+        // Act & Assert
+        assertThat(currentNode(readOnly)).isEqualTo("routing-primary");
+    }
+    
+    @Test
+    void testReadOnlyTransaction_LaggingReplica_FallsBackToPrimary() {
+        // Arrange
+        new JdbcTemplate(replica).update("UPDATE node SET lag_seconds = 5");
+        routingDataSource.refreshReplicaLag();
+        
+        // Act & Assert
+        assertThat(currentNode(readOnly)).isEqualTo("routing-primary");
+        assertThat(routingDataSource.getReplicas().get(0).getLagMillis()).isEqualTo(5000);
+    }
+    
+    @Test
+    void testReadOnlyTransaction_UnmeasuredReplica_FallsBackToPrimary() {
+        // Act & Assert
+        assertThat(currentNode(readOnly)).isEqualTo("routing-primary");
+    }
+    
+    @Test
+    void testReadOnlyTransaction_CachedReadAfterUpdate_UsesPrimary() {
+        // Arrange: the update is committed on the primary but not yet replayed, within the allowed lag
+        routingDataSource.refreshReplicaLag();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = 'routing-primary-updated'"));
+        
+        // Act
+        String stale = currentNode(readOnly);
+        String cached = readOnly.execute(status -> ReadYourWrites.onPrimary(
+                () -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class)));
+        
+        // Assert
+        assertThat(stale).isEqualTo("routing-replica");
+        assertThat(cached).isEqualTo("routing-primary-updated");
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+    
+    private String currentNode(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+    
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(50), lag_seconds DOUBLE)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
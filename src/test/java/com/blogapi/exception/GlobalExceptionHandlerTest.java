@@ -0,0 +1,59 @@
+package com.blogapi.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GlobalExceptionHandlerTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private GlobalExceptionHandler exceptionHandler;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        exceptionHandler = new GlobalExceptionHandler(meterRegistry);
+    }
+    
+    @Test
+    void testHandleResourceNotFoundException_CountsError() {
+        // Act
+        var response = exceptionHandler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Post not found with id: 1"));
+        
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(errorCount("not_found")).isEqualTo(1.0);
+        assertThat(errorCount("illegal_argument")).isZero();
+    }
+    
+    @Test
+    void testHandleIllegalArgumentException_CountsError() {
+        // Act
+        exceptionHandler.handleIllegalArgumentException(new IllegalArgumentException("Invalid cursor"));
+        exceptionHandler.handleIllegalArgumentException(new IllegalArgumentException("Invalid cursor"));
+        
+        // Assert
+        assertThat(errorCount("illegal_argument")).isEqualTo(2.0);
+    }
+    
+    @Test
+    void testHandleServiceBusyException_AsksClientToRetry() {
+        // Act
+        var response = exceptionHandler.handleServiceBusyException(new ServiceBusyException("Comment queue is full"));
+        
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(errorCount("busy")).isEqualTo(1.0);
+    }
+    
+    private double errorCount(String type) {
+        return meterRegistry.get(GlobalExceptionHandler.ERRORS_METRIC).tag("type", type).counter().count();
+    }
+}
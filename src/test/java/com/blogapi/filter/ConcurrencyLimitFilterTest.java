@@ -0,0 +1,105 @@
+package com.blogapi.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+    
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(1, 10, new ObjectMapper().registerModule(new JavaTimeModule()));
+    
+    @Test
+    void testDoFilter_PassesRequestWithinLimit() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), response, chain);
+        
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+    
+    @Test
+    void testDoFilter_RejectsRequestWhenLimitReached() throws Exception {
+        // Arrange
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdingChain = (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), inner, new MockFilterChain());
+            nested.set(inner);
+        };
+        
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), holdingChain);
+        
+        // Assert
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(nested.get().getContentAsString()).contains("Service Unavailable");
+    }
+    
+    @Test
+    void testDoFilter_ReleasesPermitAfterRequest() throws Exception {
+        // Arrange
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), response, new MockFilterChain());
+        
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+    
+    @Test
+    void testDoFilter_HoldsPermitUntilAsyncRequestCompletes() throws Exception {
+        // Arrange
+        MockHttpServletRequest streaming = new MockHttpServletRequest("GET", "/api/export/posts");
+        streaming.setAsyncSupported(true);
+        AtomicReference<AsyncContext> asyncContext = new AtomicReference<>();
+        FilterChain asyncChain = (request, response) -> asyncContext.set(request.startAsync());
+        filter.doFilter(streaming, new MockHttpServletResponse(), asyncChain);
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+        
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), whileStreaming, new MockFilterChain());
+        asyncContext.get().complete();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), afterStreaming, new MockFilterChain());
+        
+        // Assert
+        assertThat(whileStreaming.getStatus()).isEqualTo(503);
+        assertThat(afterStreaming.getStatus()).isEqualTo(200);
+    }
+    
+    @Test
+    void testDoFilter_IgnoresNonApiRequests() throws Exception {
+        // Arrange
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdingChain = (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/swagger-ui.html"), inner, new MockFilterChain());
+            nested.set(inner);
+        };
+        
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), holdingChain);
+        
+        // Assert
+        assertThat(nested.get().getStatus()).isEqualTo(200);
+    }
+}
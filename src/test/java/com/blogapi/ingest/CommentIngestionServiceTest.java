@@ -0,0 +1,181 @@
+package com.blogapi.ingest;
+
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.exception.ServiceBusyException;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.service.CacheService;
+import com.blogapi.trending.TrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentIngestionServiceTest {
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private CacheService cacheService;
+    
+    @Mock
+    private CommentIdAllocator idAllocator;
+    
+    @Mock
+    private TrendingService trendingService;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @TempDir
+    private Path journalDirectory;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicLong ids = new AtomicLong(100);
+    
+    private CommentIngestionService ingestionService;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        ingestionService = newService(3);
+        lenient().when(idAllocator.next()).thenAnswer(invocation -> ids.getAndIncrement());
+        lenient().when(postRepository.existsById(1L)).thenReturn(true);
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        ingestionService.close();
+    }
+    
+    @Test
+    void testEnqueue_ReturnsReservedIdAndWritesOnFlush() {
+        // Arrange
+        when(postRepository.findIdsByIdIn(any())).thenReturn(List.of(1L));
+        
+        // Act
+        CommentResponse first = ingestionService.enqueue(1L, commentRequest("First"));
+        CommentResponse second = ingestionService.enqueue(1L, commentRequest("Second"));
+        ingestionService.flush();
+        
+        // Assert
+        assertThat(first.getId()).isEqualTo(100L);
+        assertThat(second.getId()).isEqualTo(101L);
+        assertThat(first.getApproved()).isFalse();
+        verify(postRepository, times(1)).existsById(1L);
+        verify(jdbcTemplate).batchUpdate(eq(CommentIngestionService.INSERT_SQL), anyList(), eq(2), any());
+        verify(postRepository).adjustCommentCounts(1L, 2, 0);
+        verify(cacheService).evictPosts(Set.of(1L));
+        assertThat(ingestionService.getDepth()).isZero();
+    }
+    
+    @Test
+    void testEnqueue_PostNotFound() {
+        // Arrange
+        when(postRepository.existsById(999L)).thenReturn(false);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> ingestionService.enqueue(999L, commentRequest("Hi")))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(ingestionService.getDepth()).isZero();
+    }
+    
+    @Test
+    void testEnqueue_FullQueueIsRejected() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            ingestionService.enqueue(1L, commentRequest("Comment " + i));
+        }
+        
+        // Act & Assert
+        assertThatThrownBy(() -> ingestionService.enqueue(1L, commentRequest("One too many")))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(ingestionService.getDepth()).isEqualTo(3);
+    }
+    
+    @Test
+    void testFlush_DatabaseFailureKeepsBatchForRetry() {
+        // Arrange
+        ingestionService.enqueue(1L, commentRequest("Survivor"));
+        when(postRepository.findIdsByIdIn(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(List.of(1L));
+        
+        // Act
+        ingestionService.flush();
+        int depthAfterFailure = ingestionService.getDepth();
+        ingestionService.flush();
+        
+        // Assert
+        assertThat(depthAfterFailure).isEqualTo(1);
+        assertThat(ingestionService.getDepth()).isZero();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), eq(1), any());
+    }
+    
+    @Test
+    void testRecover_ReplaysJournalSkippingWrittenAndOrphanedComments() throws IOException {
+        // Arrange
+        Files.writeString(journalDirectory.resolve("segment-0000000000000000001.ndjson"),
+                journalLine(7L, 1L) + journalLine(8L, 1L) + journalLine(9L, 2L) + "{\"id\":10,\"po");
+        ingestionService.close();
+        ingestionService = newService(3);
+        when(postRepository.findIdsByIdIn(any())).thenReturn(List.of(1L));
+        when(commentRepository.findIdsByIdIn(any())).thenReturn(List.of(7L));
+        
+        // Act
+        ingestionService.recover();
+        
+        // Assert
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<QueuedComment> rows) ->
+                rows.size() == 1 && rows.get(0).getId() == 8L), eq(1), any());
+        verify(postRepository).adjustCommentCounts(1L, 1, 0);
+        assertThat(journalDirectory.resolve("segment-0000000000000000001.ndjson")).doesNotExist();
+    }
+    
+    private CommentIngestionService newService(int queueCapacity) throws IOException {
+        CommentIngestionService service = new CommentIngestionService(postRepository, commentRepository, cacheService,
+                idAllocator, trendingService, jdbcTemplate, new TransactionTemplate(transactionManager), objectMapper,
+                new SimpleMeterRegistry(), queueCapacity, 500, journalDirectory.toString(), false);
+        service.open();
+        return service;
+    }
+    
+    private String journalLine(Long id, Long postId) throws IOException {
+        return objectMapper.writeValueAsString(new QueuedComment(id, postId, "Journaled", "Jane", LocalDateTime.now())) + "\n";
+    }
+    
+    private static CommentRequest commentRequest(String content) {
+        return CommentRequest.builder().content(content).author("Jane").build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.blogapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonLineEncoderTest {
+    
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.blogapi.service.PostService");
+    private final JsonLineEncoder encoder = new JsonLineEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void testEncode_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Creating new post with title: {}", null, new Object[]{"Say \"hi\"\nthere"});
+        event.setTimeStamp(1_705_314_600_000L);
+        event.setThreadName("http-nio-8080-exec-1");
+        event.setMDCPropertyMap(Map.of("requestId", "abc"));
+        
+        // Act
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+        
+        // Assert
+        assertThat(line).endsWith("}\n").doesNotContain("stackTrace");
+        assertThat(line.indexOf('\n')).isEqualTo(line.length() - 1);
+        JsonNode json = objectMapper.readTree(line);
+        assertThat(json.get("timestamp").asText()).isEqualTo("2024-01-15T10:30:00Z");
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("thread").asText()).isEqualTo("http-nio-8080-exec-1");
+        assertThat(json.get("logger").asText()).isEqualTo("com.blogapi.service.PostService");
+        assertThat(json.get("message").asText()).isEqualTo("Creating new post with title: Say \"hi\"\nthere");
+        assertThat(json.get("mdc").get("requestId").asText()).isEqualTo("abc");
+    }
+    
+    @Test
+    void testEncode_IncludesStackTrace() throws Exception {
+        // Arrange
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "Export failed", new IllegalStateException("disk full"), null);
+        event.setMDCPropertyMap(Map.of());
+        
+        // Act
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+        
+        // Assert
+        assertThat(json.has("mdc")).isFalse();
+        assertThat(json.get("stackTrace").asText())
+                .startsWith("java.lang.IllegalStateException: disk full")
+                .contains("JsonLineEncoderTest");
+    }
+}
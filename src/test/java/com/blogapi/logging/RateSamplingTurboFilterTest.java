@@ -0,0 +1,80 @@
+package com.blogapi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RateSamplingTurboFilterTest {
+    
+    private static final String TEMPLATE = "Fetching post with id: {}";
+    
+    private final LoggerContext context = new LoggerContext();
+    private final AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+    private final RateSamplingTurboFilter filter = new RateSamplingTurboFilter(millis::get);
+    
+    private Logger service;
+    
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        service = context.getLogger("com.blogapi.service.PostService");
+        filter.addLogger("com.blogapi.service");
+        filter.setMaxPerSecond(2);
+    }
+    
+    @Test
+    void testDecide_DeniesTemplateOverBudgetUntilNextSecond() {
+        // Act & Assert
+        assertThat(decide(service, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(service, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(service, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.DENY);
+        // Other templates have their own budget
+        assertThat(decide(service, Level.INFO, "Creating new post with title: {}")).isEqualTo(FilterReply.NEUTRAL);
+        
+        millis.addAndGet(1000);
+        assertThat(decide(service, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void testDecide_PassesWarningsDisabledLevelsAndOtherLoggers() {
+        // Arrange
+        Logger other = context.getLogger("com.blogapi.services.Other");
+        for (int i = 0; i < 5; i++) {
+            decide(service, Level.INFO, TEMPLATE);
+        }
+        
+        // Act & Assert
+        assertThat(decide(service, Level.WARN, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(service, Level.ERROR, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(other, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        // isDebugEnabled() checks and events the logger drops anyway leave the budget alone
+        assertThat(decide(service, Level.DEBUG, null)).isEqualTo(FilterReply.NEUTRAL);
+        long suppressed = filter.getSuppressedCount();
+        assertThat(decide(service, Level.DEBUG, "Fetching watermark of all posts")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCount()).isEqualTo(suppressed);
+    }
+    
+    @Test
+    void testDecide_ZeroMaxPerSecondTurnsSamplingOff() {
+        // Arrange
+        filter.setMaxPerSecond(0);
+        
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertThat(decide(service, Level.INFO, TEMPLATE)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.getSuppressedCount()).isZero();
+    }
+    
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, new Object[]{1L}, null);
+    }
+}
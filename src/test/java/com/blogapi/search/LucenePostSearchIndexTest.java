@@ -0,0 +1,114 @@
+package com.blogapi.search;
+
+import com.blogapi.model.projection.PostSearchDocument;
+import com.blogapi.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LucenePostSearchIndexTest {
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @TempDir
+    Path indexDirectory;
+    
+    private LucenePostSearchIndex searchIndex;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        searchIndex = new LucenePostSearchIndex(indexDirectory.toString(), postRepository);
+        searchIndex.open();
+        
+        searchIndex.index(1L, "Getting Started with Spring Boot", "Spring Boot makes it easy to run applications.");
+        searchIndex.index(2L, "REST API Design Principles", "Designing resources and running services with Spring.");
+        searchIndex.index(3L, "Database Design Fundamentals", "Normalization, indexing and query optimization.");
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        searchIndex.close();
+    }
+    
+    @Test
+    void testSearch_MatchesStemmedTerms() {
+        // Act
+        Page<Long> result = searchIndex.search("runs", PageRequest.of(0, 10));
+        
+        // Assert
+        assertThat(result.getContent()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+    
+    @Test
+    void testSearch_RanksTitleMatchesFirst() {
+        // Act
+        Page<Long> result = searchIndex.search("spring", PageRequest.of(0, 10));
+        
+        // Assert
+        assertThat(result.getContent()).containsExactly(1L, 2L);
+    }
+    
+    @Test
+    void testSearch_Paginates() {
+        // Act
+        Page<Long> result = searchIndex.search("design", PageRequest.of(1, 1));
+        
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+    
+    @Test
+    void testIndex_ReplacesExistingDocument() {
+        // Act
+        searchIndex.index(3L, "Database Design Fundamentals", "Schema migrations with Flyway.");
+        
+        // Assert
+        assertThat(searchIndex.search("normalization", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchIndex.search("flyway", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+    }
+    
+    @Test
+    void testDelete_RemovesDocument() {
+        // Act
+        searchIndex.delete(1L);
+        
+        // Assert
+        assertThat(searchIndex.search("spring", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+    }
+    
+    @Test
+    void testReconcile_RebuildsWhenCountsDiffer() throws Exception {
+        // Arrange
+        PostSearchDocument document = new SpelAwareProxyProjectionFactory().createProjection(
+                PostSearchDocument.class,
+                Map.of("id", 7L, "title", "Microservices Architecture Guide", "content", "Deploy services"));
+        when(postRepository.count()).thenReturn(1L);
+        when(postRepository.findSearchDocumentsAfter(0L, Limit.of(500))).thenReturn(List.of(document));
+        
+        // Act
+        searchIndex.reconcile();
+        
+        // Assert
+        assertThat(searchIndex.search("spring", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchIndex.search("microservice", PageRequest.of(0, 10)).getContent()).containsExactly(7L);
+    }
+}
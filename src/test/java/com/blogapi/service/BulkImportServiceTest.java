@@ -0,0 +1,202 @@
+package com.blogapi.service;
+
+import com.blogapi.event.PostSavedEvent;
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.BulkItemResult;
+import com.blogapi.model.dto.BulkResponse;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.PostRequest;
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkImportServiceTest {
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CategoryRepository categoryRepository;
+    
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private CacheService cacheService;
+    
+    private BulkImportService bulkImportService;
+    
+    private Category category;
+    
+    @BeforeEach
+    void setUp() {
+        bulkImportService = new BulkImportService(postRepository, categoryRepository, commentRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager), eventPublisher, new ObjectMapper(), cacheService);
+        
+        category = Category.builder()
+                .id(1L)
+                .name("Technology")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    @Test
+    void testImportPosts_ReportsEachItem() {
+        // Arrange
+        List<PostRequest> requests = Arrays.asList(
+                postRequest("First", 1L),
+                postRequest("", 1L),
+                postRequest("Third", 99L),
+                null);
+        when(categoryRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(category));
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        
+        // Act
+        BulkResponse result = bulkImportService.importPosts(requests.iterator());
+        
+        // Assert
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(100L);
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("title: Title is required");
+        assertThat(result.getItems().get(2).getErrors()).containsExactly("Category not found with id: 99");
+        assertThat(result.getItems().get(3).getErrors()).containsExactly("Item is empty");
+        verify(eventPublisher).publishEvent(any(PostSavedEvent.class));
+    }
+    
+    @Test
+    void testImportPosts_WritesInChunksWithOneCategoryLookup() {
+        // Arrange
+        List<PostRequest> requests = IntStream.range(0, BulkImportService.CHUNK_SIZE + 1)
+                .mapToObj(i -> postRequest("Post " + i, 1L))
+                .collect(Collectors.toList());
+        when(categoryRepository.findAllById(Set.of(1L))).thenReturn(List.of(category));
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        
+        // Act
+        BulkResponse result = bulkImportService.importPosts(requests.iterator());
+        
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(BulkImportService.CHUNK_SIZE + 1);
+        verify(postRepository, times(2)).saveAll(anyList());
+        verify(categoryRepository, times(1)).findAllById(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+    
+    @Test
+    void testImportPosts_FailsWholeChunkOnDatabaseError() {
+        // Arrange
+        when(categoryRepository.findAllById(Set.of(1L))).thenReturn(List.of(category));
+        when(postRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(postRepository).flush();
+        
+        // Act
+        BulkResponse result = bulkImportService.importPosts(
+                List.of(postRequest("First", 1L), postRequest("Second", 1L)).iterator());
+        
+        // Assert
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems().get(0).getErrors()).containsExactly("Chunk rolled back: duplicate key");
+        verify(transactionManager).rollback(any());
+    }
+    
+    @Test
+    void testImportComments_ParsesNdjsonLineByLine() {
+        // Arrange
+        String ndjson = "{\"content\":\"Great post\",\"author\":\"Jane\"}\n" +
+                "\n" +
+                "{\"content\":\"broken\n" +
+                "{\"content\":\"Thanks\",\"author\":\"Bob\"}\n";
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.getReferenceById(1L)).thenReturn(Post.builder().id(1L).build());
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            long id = 10;
+            for (Comment comment : comments) {
+                comment.setId(id++);
+            }
+            return comments;
+        });
+        
+        // Act
+        BulkResponse result = bulkImportService.importComments(1L,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        
+        // Assert
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.FAILED, BulkItemResult.Status.CREATED);
+        assertThat(result.getItems().get(1).getErrors().get(0)).startsWith("Malformed JSON on line 3");
+        assertThat(result.getItems().get(2).getId()).isEqualTo(11L);
+        verify(postRepository).adjustCommentCounts(1L, 2, 0);
+        verify(cacheService).evictPost(1L);
+    }
+    
+    @Test
+    void testImportComments_PostNotFound() {
+        // Arrange
+        when(postRepository.existsById(999L)).thenReturn(false);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> bulkImportService.importComments(999L,
+                List.of(CommentRequest.builder().content("Hi").author("Jane").build()).iterator()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(commentRepository, never()).saveAll(anyList());
+    }
+    
+    private static PostRequest postRequest(String title, Long categoryId) {
+        return PostRequest.builder()
+                .title(title)
+                .content("Content of " + title)
+                .author("John Doe")
+                .categoryId(categoryId)
+                .build();
+    }
+    
+    private static List<Post> assignIds(List<Post> posts) {
+        long id = 100;
+        for (Post post : posts) {
+            post.setId(id++);
+        }
+        return posts;
+    }
+}
@@ -1,10 +1,13 @@
 package com.blogapi.service;
 
+import com.blogapi.exception.PreconditionFailedException;
 import com.blogapi.exception.ResourceNotFoundException;
 import com.blogapi.model.dto.CategoryRequest;
 import com.blogapi.model.dto.CategoryResponse;
 import com.blogapi.model.entity.Category;
+import com.blogapi.model.projection.Watermark;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.PostRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,9 +18,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,6 +35,12 @@ public class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
     
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CacheService cacheService;
+    
     @InjectMocks
     private CategoryService categoryService;
     
@@ -122,22 +134,86 @@ public class CategoryServiceTest {
     }
     
     @Test
-    void testDeleteCategory_Success() {
+    void testUpdateCategory_RenameEvictsCachedPosts() {
         // Arrange
-        category.setPosts(Collections.emptyList());
+        CategoryRequest renameRequest = CategoryRequest.builder()
+                .name("Tech")
+                .description("Tech related posts")
+                .build();
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.existsByName("Tech")).thenReturn(false);
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        
+        // Act
+        CategoryResponse result = categoryService.updateCategory(1L, renameRequest, null);
+        
+        // Assert
+        assertThat(result.getName()).isEqualTo("Tech");
+        verify(cacheService, times(1)).evictPostsInCategory(1L);
+        verify(postRepository).incrementListVersion();
+    }
+    
+    @Test
+    void testUpdateCategory_DescriptionOnlyKeepsCachedPosts() {
+        // Arrange
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        
+        // Act
+        categoryService.updateCategory(1L, categoryRequest, null);
+        
+        // Assert
+        verify(cacheService, never()).evictPostsInCategory(anyLong());
+        verify(postRepository, never()).incrementListVersion();
+    }
+    
+    @Test
+    void testUpdateCategory_StaleIfMatchFailsWithoutLoading() {
+        // Arrange
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("rowCount", 1L);
+        columns.put("lastModified", category.getUpdatedAt());
+        columns.put("version", 2L);
+        Watermark current = new SpelAwareProxyProjectionFactory().createProjection(Watermark.class, columns);
+        when(categoryRepository.findWatermarkById(1L)).thenReturn(current);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> categoryService.updateCategory(1L, categoryRequest, "\"stale\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(categoryRepository, never()).save(any(Category.class));
+    }
+    
+    @Test
+    void testDeleteCategory_Success() {
+        // Arrange
+        when(postRepository.existsByCategoryId(1L)).thenReturn(false);
+        when(categoryRepository.deleteByIdInBulk(1L)).thenReturn(1);
         
         // Act
         categoryService.deleteCategory(1L);
         
         // Assert
-        verify(categoryRepository, times(1)).deleteById(1L);
+        verify(categoryRepository, times(1)).deleteByIdInBulk(1L);
+        verify(categoryRepository, never()).findById(anyLong());
+    }
+    
+    @Test
+    void testDeleteCategory_WithPosts() {
+        // Arrange
+        when(postRepository.existsByCategoryId(1L)).thenReturn(true);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> categoryService.deleteCategory(1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("existing posts");
+        verify(categoryRepository, never()).deleteByIdInBulk(anyLong());
     }
     
     @Test
     void testDeleteCategory_NotFound() {
         // Arrange
-        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+        when(categoryRepository.deleteByIdInBulk(999L)).thenReturn(0);
         
         // Act & Assert
         assertThatThrownBy(() -> categoryService.deleteCategory(999L))
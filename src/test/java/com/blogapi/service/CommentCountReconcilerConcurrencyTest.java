@@ -0,0 +1,106 @@
+package com.blogapi.service;
+
+import com.blogapi.model.entity.Category;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.Post;
+import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs a reconciler batch against the H2 database while another transaction adds a comment to
+ * the same post, and checks that the comment's counter increment waits for the batch and lands
+ * on top of the recount instead of being overwritten by it.
+ */
+@SpringBootTest(properties = {
+        "blog.search.lucene.directory=target/reconciler-test-search-index",
+        "blog.trending.refresh-interval-ms=3600000"
+})
+public class CommentCountReconcilerConcurrencyTest {
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void testRecount_ConcurrentAdjustWaitsAndIsKept() throws Exception {
+        // Arrange
+        Post post = newPost(2);
+        CountDownLatch inserted = new CountDownLatch(1);
+        
+        // Act
+        CompletableFuture<Void> concurrentWrite = transactionTemplate.execute(status -> {
+            List<Long> ids = postRepository.lockIdsAfter(post.getId() - 1, Limit.of(1));
+            CompletableFuture<Void> concurrent = CompletableFuture.runAsync(() ->
+                    transactionTemplate.executeWithoutResult(inner -> {
+                        commentRepository.save(Comment.builder()
+                                .content("Concurrent").author("Test").post(post).approved(false).build());
+                        inserted.countDown();
+                        postRepository.adjustCommentCounts(post.getId(), 1, 0);
+                    }));
+            awaitQuietly(inserted);
+            // The writer's increment must be blocked on the batch's row lock
+            assertThatThrownBy(() -> concurrent.get(500, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+            postRepository.recountComments(ids);
+            return concurrent;
+        });
+        concurrentWrite.get(10, TimeUnit.SECONDS);
+        
+        // Assert
+        Post reloaded = postRepository.findById(post.getId()).orElseThrow();
+        assertThat(reloaded.getCommentCount()).isEqualTo(3L);
+        assertThat(reloaded.getCommentCount()).isEqualTo(commentRepository.countByPostId(post.getId()));
+    }
+    
+    private Post newPost(int comments) {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Reconciler " + System.nanoTime())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        Post post = postRepository.save(Post.builder()
+                .title("Reconciled post")
+                .content("Created by the reconciler concurrency test")
+                .author("Test")
+                .category(category)
+                .build());
+        for (int i = 0; i < comments; i++) {
+            commentRepository.save(Comment.builder()
+                    .content("Comment " + i).author("Test").post(post).approved(false).build());
+        }
+        postRepository.adjustCommentCounts(post.getId(), comments, 0);
+        return post;
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
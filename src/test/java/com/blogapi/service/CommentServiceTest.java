@@ -0,0 +1,203 @@
+package com.blogapi.service;
+
+import com.blogapi.exception.PreconditionFailedException;
+import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.CommentRequest;
+import com.blogapi.model.dto.CommentResponse;
+import com.blogapi.model.dto.Cursor;
+import com.blogapi.model.dto.CursorPage;
+import com.blogapi.model.entity.Comment;
+import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PendingComment;
+import com.blogapi.model.projection.Watermark;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.trending.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentServiceTest {
+    
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CacheService cacheService;
+    
+    @Mock
+    private TrendingService trendingService;
+    
+    @InjectMocks
+    private CommentService commentService;
+    
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    
+    private Post post;
+    private Comment comment;
+    
+    @BeforeEach
+    void setUp() {
+        post = Post.builder()
+                .id(1L)
+                .title("Spring Boot Guide")
+                .content("Learn Spring Boot")
+                .author("John Doe")
+                .build();
+        
+        comment = Comment.builder()
+                .id(10L)
+                .content("Great post")
+                .author("Jane Smith")
+                .post(post)
+                .approved(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    @Test
+    void testAddCommentToPost_IncrementsCommentCount() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+        
+        // Act
+        CommentResponse result = commentService.addCommentToPost(1L,
+                CommentRequest.builder().content("Great post").author("Jane Smith").build());
+        
+        // Assert
+        assertThat(result.getId()).isEqualTo(10L);
+        verify(postRepository).adjustCommentCounts(1L, 1, 0);
+        verify(postRepository).incrementListVersion();
+        verify(cacheService).evictPost(1L);
+    }
+    
+    @Test
+    void testApproveComment_IncrementsApprovedCountOnce() {
+        // Arrange
+        when(commentRepository.updateApproved(eq(10L), eq(true), isNull(), any(LocalDateTime.class)))
+                .thenReturn(1)
+                .thenReturn(0);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(comment));
+        
+        // Act
+        commentService.approveComment(10L, null);
+        commentService.approveComment(10L, null);
+        
+        // Assert
+        verify(postRepository, times(1)).adjustCommentCounts(1L, 0, 1);
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+    
+    @Test
+    void testRejectComment_DecrementsApprovedCount() {
+        // Arrange
+        when(commentRepository.updateApproved(eq(10L), eq(false), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(comment));
+        
+        // Act
+        commentService.rejectComment(10L, null);
+        
+        // Assert
+        verify(postRepository).adjustCommentCounts(1L, 0, -1);
+    }
+    
+    @Test
+    void testApproveComment_VersionMovedOnFailsWithoutCounting() {
+        // Arrange
+        Watermark seen = watermarkOf(comment.getUpdatedAt(), 3L);
+        comment.setVersion(4L);
+        when(commentRepository.findWatermarkById(10L)).thenReturn(seen);
+        when(commentRepository.updateApproved(eq(10L), eq(true), eq(3L), any(LocalDateTime.class))).thenReturn(0);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(comment));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.approveComment(10L, "\"" + seen.etag() + "\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(postRepository, never()).adjustCommentCounts(anyLong(), anyLong(), anyLong());
+    }
+    
+    @Test
+    void testApproveComment_StaleIfMatchSkipsUpdate() {
+        // Arrange
+        when(commentRepository.findWatermarkById(10L)).thenReturn(watermarkOf(comment.getUpdatedAt(), 3L));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.approveComment(10L, "\"stale\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(commentRepository, never()).updateApproved(anyLong(), anyBoolean(), any(), any());
+    }
+    
+    @Test
+    void testGetPendingComments_ContinuesAfterCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<PendingComment> rows = List.of(
+                new PendingComment(11L, "First", "Jane Smith", createdAt, 1L, "Spring Boot Guide"),
+                new PendingComment(12L, "Second", "Jane Smith", createdAt, 1L, "Spring Boot Guide"));
+        when(commentRepository.findPendingAfterCursor(createdAt, 10L, Limit.of(2))).thenReturn(rows);
+        
+        // Act
+        CursorPage<PendingComment> result = commentService.getPendingComments(new Cursor(createdAt, 10L).encode(), 1);
+        
+        // Assert
+        assertThat(result.getContent()).extracting(PendingComment::getId).containsExactly(11L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(Cursor.decode(result.getNextCursor()).getId()).isEqualTo(11L);
+        verify(commentRepository, never()).findFirstPendingByCursor(any());
+    }
+    
+    @Test
+    void testDeleteComment_DecrementsBothCountsForApprovedComment() {
+        // Arrange
+        comment.setApproved(true);
+        when(commentRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(comment));
+        
+        // Act
+        commentService.deleteComment(10L);
+        
+        // Assert
+        verify(commentRepository).delete(comment);
+        verify(postRepository).adjustCommentCounts(1L, -1, -1);
+    }
+    
+    @Test
+    void testDeleteComment_NotFound() {
+        // Arrange
+        when(commentRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        assertThatThrownBy(() -> commentService.deleteComment(999L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(postRepository, never()).adjustCommentCounts(anyLong(), anyLong(), anyLong());
+    }
+    
+    private Watermark watermarkOf(LocalDateTime lastModified, Long version) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("rowCount", 1L);
+        columns.put("lastModified", lastModified);
+        columns.put("version", version);
+        return projectionFactory.createProjection(Watermark.class, columns);
+    }
+}
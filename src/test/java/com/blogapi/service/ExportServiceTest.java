@@ -0,0 +1,118 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.ExportFormat;
+import com.blogapi.model.dto.PostResponse;
+import com.blogapi.model.projection.CommentExportRow;
+import com.blogapi.model.projection.PostExportRow;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTest {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private PostService postService;
+    
+    private ExportService exportService;
+    
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(postRepository, commentRepository, postService,
+                new ObjectMapper().findAndRegisterModules());
+    }
+    
+    @Test
+    void testExportPosts_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postRepository.streamForExport(1L, null, null)).thenReturn(Stream.of(
+                        new PostExportRow(1L, "First", "Hello", "John Doe", 1L, "Technology", CREATED_AT, CREATED_AT),
+                        new PostExportRow(2L, "Second", "World", "Jane Smith", 1L, "Technology", CREATED_AT, CREATED_AT))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // Act
+        long count = exportService.exportPosts(1L, null, null, ExportFormat.NDJSON, output);
+        
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":1", "\"categoryName\":\"Technology\"", "\"createdAt\":\"2024-01-15T10:30:00\"");
+        assertThat(lines[1]).contains("\"id\":2", "\"title\":\"Second\"");
+        assertThat(lines[2]).isEmpty();
+        assertThat(closed).isTrue();
+    }
+    
+    @Test
+    void testExportPostsByCategory_StreamsListingShape() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postService.streamPostsByCategory(1L, 5)).thenReturn(Stream.of(
+                        PostResponse.builder().id(2L).title("Newer").content("Hello").categoryId(1L)
+                                .createdAt(CREATED_AT).build(),
+                        PostResponse.builder().id(1L).title("Older").content("World").categoryId(1L)
+                                .createdAt(CREATED_AT).build())
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // Act
+        long count = exportService.exportPostsByCategory(1L, 5, output);
+        
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":2", "\"content\":\"Hello\"");
+        assertThat(lines[1]).contains("\"id\":1", "\"title\":\"Older\"");
+        assertThat(closed).isTrue();
+    }
+    
+    @Test
+    void testExportComments_QuotesCsvFields() throws Exception {
+        // Arrange
+        when(commentRepository.streamForExport(null, null, null)).thenReturn(Stream.of(
+                new CommentExportRow(5L, 1L, "Nice, really \"nice\"\nthanks", "Jane", true, CREATED_AT, CREATED_AT)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // Act
+        long count = exportService.exportComments(null, null, null, ExportFormat.CSV, output);
+        
+        // Assert
+        assertThat(count).isEqualTo(1);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,postId,content,author,approved,createdAt,updatedAt\r\n" +
+                "5,1,\"Nice, really \"\"nice\"\"\nthanks\",Jane,true,2024-01-15T10:30:00,2024-01-15T10:30:00\r\n");
+    }
+    
+    @Test
+    void testValidateRange_RejectsEmptyRange() {
+        // Act & Assert
+        assertThatThrownBy(() -> ExportService.validateRange(CREATED_AT, CREATED_AT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> ExportService.validateRange(CREATED_AT, null)).doesNotThrowAnyException();
+    }
+}
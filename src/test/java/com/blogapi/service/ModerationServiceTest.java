@@ -0,0 +1,103 @@
+package com.blogapi.service;
+
+import com.blogapi.model.dto.ModerationRequest;
+import com.blogapi.model.dto.ModerationResponse;
+import com.blogapi.repository.CommentRepository;
+import com.blogapi.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ModerationServiceTest {
+    
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private CacheService cacheService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private ModerationService moderationService;
+    
+    @BeforeEach
+    void setUp() {
+        moderationService = new ModerationService(commentRepository, postRepository, cacheService,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), 2);
+    }
+    
+    @Test
+    void testApproveComments_ByIdsRunsOneUpdatePerBatch() {
+        // Arrange
+        when(commentRepository.lockForModeration(anyCollection(), eq(true)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(5L));
+        when(commentRepository.findPostIdsByIdIn(anyCollection())).thenReturn(List.of(7L));
+        when(commentRepository.updateApprovedIn(anyCollection(), eq(true), any(LocalDateTime.class)))
+                .thenReturn(2)
+                .thenReturn(1);
+        
+        // Act
+        ModerationResponse result = moderationService.approveComments(
+                ModerationRequest.builder().commentIds(List.of(5L, 2L, 1L, 2L)).build());
+        
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getBatches()).isEqualTo(2);
+        assertThat(result.getPostsAffected()).isEqualTo(1);
+        verify(commentRepository).lockForModeration(List.of(1L, 2L), true);
+        verify(commentRepository).lockForModeration(List.of(5L), true);
+        verify(postRepository).adjustApprovedCommentCounts(List.of(7L), List.of(1L, 2L), 1);
+        verify(postRepository).adjustApprovedCommentCounts(List.of(7L), List.of(5L), 1);
+        verify(postRepository, times(2)).incrementListVersion();
+    }
+    
+    @Test
+    void testRejectComments_ByFiltersWalksKeysetUntilEmpty() {
+        // Arrange
+        when(commentRepository.lockForModerationAfter(eq(false), anyLong(), eq(3L), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(List.of(10L, 11L))
+                .thenReturn(List.of());
+        when(commentRepository.findPostIdsByIdIn(List.of(10L, 11L))).thenReturn(List.of(3L));
+        when(commentRepository.updateApprovedIn(eq(List.of(10L, 11L)), eq(false), any(LocalDateTime.class)))
+                .thenReturn(2);
+        
+        // Act
+        ModerationResponse result = moderationService.rejectComments(ModerationRequest.builder().postId(3L).build());
+        
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(2);
+        verify(commentRepository).lockForModerationAfter(eq(false), eq(11L), eq(3L), isNull(), isNull(), any(Limit.class));
+        verify(postRepository).adjustApprovedCommentCounts(List.of(3L), List.of(10L, 11L), -1);
+        verify(cacheService).evictPosts(List.of(3L));
+    }
+    
+    @Test
+    void testApproveComments_RequiresCriteria() {
+        // Act & Assert
+        assertThatThrownBy(() -> moderationService.approveComments(new ModerationRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> moderationService.approveComments(
+                ModerationRequest.builder().commentIds(List.of(1L)).author("bot").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(commentRepository);
+    }
+}
@@ -1,25 +1,43 @@
 package com.blogapi.service;
 
+import com.blogapi.datasource.ReadYourWrites;
+import com.blogapi.event.PostSavedEvent;
 import com.blogapi.exception.ResourceNotFoundException;
+import com.blogapi.model.dto.Cursor;
+import com.blogapi.model.dto.CursorPage;
 import com.blogapi.model.dto.PostRequest;
 import com.blogapi.model.dto.PostResponse;
 import com.blogapi.model.entity.Category;
 import com.blogapi.model.entity.Post;
+import com.blogapi.model.projection.PostListWatermark;
+import com.blogapi.model.projection.PostSummary;
+import com.blogapi.model.projection.PostWatermark;
 import com.blogapi.repository.CategoryRepository;
+import com.blogapi.repository.CommentRepository;
 import com.blogapi.repository.PostRepository;
+import com.blogapi.search.PostSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.MediaType;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -34,11 +52,23 @@ public class PostServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
     
+    @Mock
+    private CommentRepository commentRepository;
+    
+    @Mock
+    private PostSearchIndex postSearchIndex;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private PostService postService;
     
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    
     private Category category;
     private Post post;
+    private PostSummary postSummary;
     private PostRequest postRequest;
     
     @BeforeEach
@@ -61,6 +91,8 @@ public class PostServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
         
+        postSummary = summaryOf(post);
+        
         postRequest = PostRequest.builder()
                 .title("Spring Boot Guide")
                 .content("Complete guide to Spring Boot")
@@ -73,17 +105,129 @@ public class PostServiceTest {
     void testGetAllPosts() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Post> postPage = new PageImpl<>(Collections.singletonList(post));
-        when(postRepository.findAll(pageable)).thenReturn(postPage);
+        Page<PostSummary> postPage = new PageImpl<>(Collections.singletonList(postSummary));
+        when(postRepository.findAllSummaries(200, pageable)).thenReturn(postPage);
         
         // Act
-        Page<PostResponse> result = postService.getAllPosts(pageable);
+        Page<PostResponse> result = postService.getAllPosts(pageable, 200);
         
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("Spring Boot Guide");
-        verify(postRepository, times(1)).findAll(pageable);
+        assertThat(result.getContent().get(0).getContent()).isEqualTo("Complete guide to Spring Boot");
+        assertThat(result.getContent().get(0).getCategoryName()).isEqualTo("Technology");
+        verify(postRepository, times(1)).findAllSummaries(200, pageable);
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    void testGetAllPosts_FullContentByDefault() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(postRepository.findAllSummaries(PostService.FULL_CONTENT, pageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(postSummary)));
+        
+        // Act
+        Page<PostResponse> result = postService.getAllPosts(pageable, PostService.FULL_CONTENT);
+        
+        // Assert
+        assertThat(result.getContent().get(0).getContent()).isEqualTo("Complete guide to Spring Boot");
+    }
+    
+    @Test
+    void testGetAllPosts_InvalidExcerptLength() {
+        assertThatThrownBy(() -> postService.getAllPosts(PageRequest.of(0, 10), -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Excerpt length");
+    }
+    
+    @Test
+    void testGetPostsByCursor_FirstPage() {
+        // Arrange
+        Post older = Post.builder()
+                .id(2L)
+                .title("Older Post")
+                .content("Older content")
+                .author("Jane Smith")
+                .category(category)
+                .createdAt(post.getCreatedAt().minusDays(1))
+                .updatedAt(post.getCreatedAt().minusDays(1))
+                .build();
+        when(postRepository.findFirstSummariesByCursor(200, Limit.of(2)))
+                .thenReturn(List.of(postSummary, summaryOf(older)));
+        
+        // Act
+        CursorPage<PostResponse> result = postService.getPostsByCursor(null, 1, 200);
+        
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+        Cursor next = Cursor.decode(result.getNextCursor());
+        assertThat(next.getId()).isEqualTo(1L);
+        assertThat(next.getCreatedAt()).isEqualTo(post.getCreatedAt());
+    }
+    
+    @Test
+    void testGetPostsByCursor_LastPage() {
+        // Arrange
+        Cursor cursor = new Cursor(LocalDateTime.now(), 5L);
+        when(postRepository.findSummariesBeforeCursor(cursor.getCreatedAt(), 5L, 200, Limit.of(11)))
+                .thenReturn(List.of(postSummary));
+        
+        // Act
+        CursorPage<PostResponse> result = postService.getPostsByCursor(cursor.encode(), 10, 200);
+        
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void testGetPostsByCursor_InvalidCursor() {
+        assertThatThrownBy(() -> postService.getPostsByCursor("not-a-cursor", 10, 200))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+    
+    @Test
+    void testSearchPosts_KeepsRelevanceOrder() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Post other = Post.builder()
+                .id(2L)
+                .title("Spring Data JPA")
+                .content("Repositories with Spring")
+                .author("Jane Smith")
+                .category(category)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        when(postSearchIndex.search("spring", pageable)).thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(postRepository.findSummariesByIdIn(List.of(2L, 1L), 200))
+                .thenReturn(List.of(postSummary, summaryOf(other)));
+        
+        // Act
+        Page<PostResponse> result = postService.searchPosts("spring", pageable, 200);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(PostResponse::getId).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void testSearchPosts_NoMatches() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(postSearchIndex.search("nothing", pageable)).thenReturn(Page.empty(pageable));
+        
+        // Act
+        Page<PostResponse> result = postService.searchPosts("nothing", pageable, 200);
+        
+        // Assert
+        assertThat(result.getContent()).isEmpty();
+        verify(postRepository, never()).findSummariesByIdIn(any(), anyInt());
     }
     
     @Test
@@ -101,6 +245,23 @@ public class PostServiceTest {
         verify(postRepository, times(1)).findById(1L);
     }
     
+    @Test
+    void testGetPostById_ReadsFromPrimary() {
+        // Arrange
+        List<Boolean> pinned = new ArrayList<>();
+        when(postRepository.findById(1L)).thenAnswer(invocation -> {
+            pinned.add(ReadYourWrites.isPinned());
+            return Optional.of(post);
+        });
+        
+        // Act
+        postService.getPostById(1L);
+        
+        // Assert
+        assertThat(pinned).containsExactly(true);
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+    
     @Test
     void testGetPostById_NotFound() {
         // Arrange
@@ -127,6 +288,8 @@ public class PostServiceTest {
         assertThat(result.getCategoryName()).isEqualTo("Technology");
         verify(categoryRepository, times(1)).findById(1L);
         verify(postRepository, times(1)).save(any(Post.class));
+        verify(postRepository).incrementListVersion();
+        verify(eventPublisher, times(1)).publishEvent(any(PostSavedEvent.class));
     }
     
     @Test
@@ -149,23 +312,180 @@ public class PostServiceTest {
     @Test
     void testDeletePost_Success() {
         // Arrange
-        when(postRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.deleteByIdInBulk(1L)).thenReturn(1);
         
         // Act
         postService.deletePost(1L);
         
         // Assert
-        verify(postRepository, times(1)).deleteById(1L);
+        verify(commentRepository, times(1)).deleteByPostIdInBulk(1L);
+        verify(postRepository, never()).existsById(anyLong());
+        verify(postRepository).incrementListVersion();
+    }
+    
+    @Test
+    void testGetPostsByCategory_ChecksCategoryOnlyWhenEmpty() {
+        // Arrange
+        when(postRepository.findFirstSummariesByCategory(1L, PostService.FULL_CONTENT, Limit.of(11)))
+                .thenReturn(List.of(postSummary));
+        when(postRepository.findFirstSummariesByCategory(999L, PostService.FULL_CONTENT, Limit.of(11)))
+                .thenReturn(List.of());
+        when(categoryRepository.existsById(999L)).thenReturn(false);
+        
+        // Act
+        CursorPage<PostResponse> result =
+                postService.getPostsByCategory(1L, null, 10, PostService.FULL_CONTENT);
+        
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        verify(categoryRepository, never()).existsById(1L);
+        assertThatThrownBy(() -> postService.getPostsByCategory(999L, null, 10, PostService.FULL_CONTENT))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Category not found");
+    }
+    
+    @Test
+    void testGetPostsByCategory_ContinuesFromCursor() {
+        // Arrange
+        Cursor cursor = new Cursor(LocalDateTime.now(), 5L);
+        when(postRepository.findSummariesByCategoryBeforeCursor(1L, cursor.getCreatedAt(), 5L, 200, Limit.of(2)))
+                .thenReturn(List.of(postSummary, postSummary));
+        
+        // Act
+        CursorPage<PostResponse> result = postService.getPostsByCategory(1L, cursor.encode(), 1, 200);
+        
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(Cursor.decode(result.getNextCursor()).getId()).isEqualTo(1L);
+        verify(categoryRepository, never()).existsById(anyLong());
+    }
+    
+    @Test
+    void testGetPostsByCategory_InvalidSize() {
+        assertThatThrownBy(() -> postService.getPostsByCategory(1L, null, CursorPage.MAX_SIZE + 1, 200))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Page size");
+        verifyNoInteractions(postRepository);
     }
     
     @Test
     void testDeletePost_NotFound() {
         // Arrange
-        when(postRepository.existsById(999L)).thenReturn(false);
+        when(postRepository.deleteByIdInBulk(999L)).thenReturn(0);
         
         // Act & Assert
         assertThatThrownBy(() -> postService.deletePost(999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Post not found");
+        verify(postRepository, never()).incrementListVersion();
+    }
+    
+    @Test
+    void testGetPostWatermark_EtagFollowsCommentCounters() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(postRepository.findWatermarkById(1L))
+                .thenReturn(watermarkOf(1L, updatedAt, updatedAt, 3L))
+                .thenReturn(watermarkOf(1L, updatedAt, updatedAt, 4L));
+        
+        // Act
+        String etagBefore = postService.getPostWatermark(1L).etag();
+        String etagAfter = postService.getPostWatermark(1L).etag();
+        
+        // Assert
+        assertThat(etagBefore).isNotEqualTo(etagAfter);
+    }
+    
+    @Test
+    void testGetPostWatermark_EtagFollowsCategoryRename() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        when(postRepository.findWatermarkById(1L))
+                .thenReturn(watermarkOf(1L, updatedAt, updatedAt, 0L))
+                .thenReturn(watermarkOf(1L, updatedAt, updatedAt.plusMinutes(1), 0L));
+        
+        // Act
+        String before = postService.getPostWatermark(1L).etag();
+        String after = postService.getPostWatermark(1L).etag();
+        
+        // Assert
+        assertThat(before).isNotEqualTo(after);
+        assertThat(before).isEqualTo(watermarkOf(1L, updatedAt, updatedAt, 0L).etag());
+    }
+    
+    @Test
+    void testGetPostWatermark_EtagPerRepresentation() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+        PostWatermark watermark = watermarkOf(1L, updatedAt, updatedAt, 0L);
+        
+        // Act
+        String json = watermark.etag(MediaType.APPLICATION_JSON);
+        String cbor = watermark.etag(MediaType.APPLICATION_CBOR);
+        String smile = watermark.etag(MediaType.parseMediaType("application/x-jackson-smile"));
+        
+        // Assert
+        assertThat(json).isEqualTo(watermark.etag());
+        assertThat(List.of(json, cbor, smile)).doesNotHaveDuplicates();
+        assertThat(watermark.matches("\"" + cbor + "\"")).isTrue();
+        assertThat(watermark.matches("W/\"" + cbor + "\"")).isFalse();
+        assertThat(watermarkOf(1L, updatedAt, updatedAt, 1L).matches("\"" + cbor + "\"")).isFalse();
+    }
+    
+    @Test
+    void testGetPostsWatermark_EtagFollowsListVersion() {
+        // Arrange
+        when(postRepository.findWatermark())
+                .thenReturn(listWatermarkOf(3L))
+                .thenReturn(listWatermarkOf(4L));
+        
+        // Act
+        String before = postService.getPostsWatermark().etag();
+        String after = postService.getPostsWatermark().etag();
+        
+        // Assert
+        assertThat(before).isNotEqualTo(after);
+        assertThat(before).isEqualTo(listWatermarkOf(3L).etag());
+    }
+    
+    @Test
+    void testGetPostWatermark_NotFound() {
+        // Arrange
+        when(postRepository.findWatermarkById(999L)).thenReturn(watermarkOf(0L, null, null, 0L));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> postService.getPostWatermark(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Post not found");
+    }
+    
+    private PostWatermark watermarkOf(Long rowCount, LocalDateTime lastModified, LocalDateTime categoryLastModified,
+                                      Long countersVersion) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("rowCount", rowCount);
+        columns.put("lastModified", lastModified);
+        columns.put("version", 0L);
+        columns.put("categoryLastModified", categoryLastModified);
+        columns.put("countersVersion", countersVersion);
+        return projectionFactory.createProjection(PostWatermark.class, columns);
+    }
+    
+    private PostListWatermark listWatermarkOf(Long version) {
+        return projectionFactory.createProjection(PostListWatermark.class, Map.of("version", version));
+    }
+    
+    private PostSummary summaryOf(Post source) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", source.getId());
+        columns.put("title", source.getTitle());
+        columns.put("excerpt", source.getContent());
+        columns.put("author", source.getAuthor());
+        columns.put("categoryId", source.getCategory().getId());
+        columns.put("categoryName", source.getCategory().getName());
+        columns.put("createdAt", source.getCreatedAt());
+        columns.put("updatedAt", source.getUpdatedAt());
+        return projectionFactory.createProjection(PostSummary.class, columns);
     }
 }
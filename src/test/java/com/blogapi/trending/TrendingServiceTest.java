@@ -0,0 +1,182 @@
+package com.blogapi.trending;
+
+import com.blogapi.model.dto.TrendingPostResponse;
+import com.blogapi.model.entity.TrendingScore;
+import com.blogapi.model.projection.PostSummary;
+import com.blogapi.repository.PostRepository;
+import com.blogapi.repository.TrendingScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendingServiceTest {
+    
+    @Mock
+    private PostRepository postRepository;
+    
+    @Mock
+    private TrendingScoreRepository trendingScoreRepository;
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    
+    private TrendingService trendingService;
+    
+    @BeforeEach
+    void setUp() {
+        // One-hour half-life, comments weigh five views, top 2
+        trendingService = new TrendingService(postRepository, trendingScoreRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), 60, 1, 5, 2, 5000);
+        lenient().when(postRepository.findSummariesByIdIn(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id != 404L).map(this::summary).toList();
+        });
+    }
+    
+    @Test
+    void testRefresh_RanksByWeightedActivity() {
+        // Arrange
+        recordViews(1L, 8);
+        trendingService.recordComment(2L);
+        trendingService.recordComment(2L);
+        recordViews(3L, 3);
+        
+        // Act
+        trendingService.refresh(LocalDateTime.now());
+        
+        // Assert
+        assertThat(trendingService.getTrendingPosts(2))
+                .extracting(TrendingPostResponse::getId, TrendingPostResponse::getScore)
+                .containsExactly(tuple(2L, 10.0), tuple(1L, 8.0));
+    }
+    
+    @Test
+    void testRefresh_OlderActivityDecays() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now();
+        trendingService.refresh(start);
+        recordViews(1L, 10);
+        trendingService.refresh(start);
+        recordViews(2L, 6);
+        
+        // Act - two half-lives later post 1 is down to 2.5
+        trendingService.refresh(start.plusHours(2));
+        
+        // Assert
+        assertThat(trendingService.getTrendingPosts(2))
+                .extracting(TrendingPostResponse::getId, TrendingPostResponse::getScore)
+                .containsExactly(tuple(2L, 6.0), tuple(1L, 2.5));
+    }
+    
+    @Test
+    void testRefresh_DropsDeletedPosts() {
+        // Arrange
+        recordViews(404L, 5);
+        recordViews(1L, 1);
+        
+        // Act
+        trendingService.refresh(LocalDateTime.now());
+        
+        // Assert
+        assertThat(trendingService.getTrendingPosts(2)).extracting(TrendingPostResponse::getId).containsExactly(1L);
+    }
+    
+    @Test
+    void testGetTrendingPosts_LimitAboveTopK() {
+        // Act & Assert
+        assertThatThrownBy(() -> trendingService.getTrendingPosts(3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("limit must be between 1 and 2");
+    }
+    
+    @Test
+    void testCheckpoint_WritesCurrentScores() {
+        // Arrange
+        recordViews(1L, 4);
+        trendingService.refresh(LocalDateTime.now());
+        
+        // Act
+        trendingService.checkpoint();
+        
+        // Assert
+        verify(trendingScoreRepository, never()).deleteAllInBatch();
+        verify(jdbcTemplate).batchUpdate(eq(TrendingService.INSERT_SQL),
+                eq(List.of(Map.entry(1L, 4.0))), eq(1), any());
+    }
+    
+    @Test
+    void testCheckpoint_MergesWithScoresOfOtherInstances() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        recordViews(1L, 4);
+        recordViews(2L, 3);
+        trendingService.refresh(now);
+        TrendingScore higherElsewhere = new TrendingScore(1L, 10.0, now);
+        TrendingScore olderHere = new TrendingScore(2L, 2.0, now.minusHours(1));
+        TrendingScore decayed = new TrendingScore(3L, 0.01, now.minusHours(5));
+        when(trendingScoreRepository.findAllForUpdate()).thenReturn(List.of(higherElsewhere, olderHere, decayed));
+        
+        // Act
+        trendingService.checkpoint();
+        
+        // Assert - the stored 2.0 is worth 1.0 by now, below the local 3.0
+        assertThat(higherElsewhere.getScore()).isEqualTo(10.0);
+        assertThat(olderHere.getScore()).isEqualTo(3.0);
+        assertThat(olderHere.getScoredAt()).isEqualTo(now);
+        verify(trendingScoreRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(trendingScoreRepository).saveAll(List.of(higherElsewhere, olderHere));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+    
+    @Test
+    void testRestore_DecaysCheckpointedScores() {
+        // Arrange
+        when(trendingScoreRepository.findAll()).thenReturn(List.of(
+                new TrendingScore(1L, 16.0, LocalDateTime.now().minusHours(1)),
+                new TrendingScore(2L, 4.0, LocalDateTime.now())));
+        
+        // Act
+        trendingService.restore();
+        
+        // Assert
+        assertThat(trendingService.getTrendingPosts(2))
+                .extracting(TrendingPostResponse::getId, TrendingPostResponse::getScore)
+                .containsExactly(tuple(1L, 8.0), tuple(2L, 4.0));
+    }
+    
+    private void recordViews(Long postId, int views) {
+        for (int i = 0; i < views; i++) {
+            trendingService.recordView(postId);
+        }
+    }
+    
+    private PostSummary summary(Long id) {
+        return projectionFactory.createProjection(PostSummary.class, Map.of(
+                "id", id,
+                "title", "Post " + id,
+                "author", "John Doe",
+                "commentCount", 0L));
+    }
+}